@@ -0,0 +1,119 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code BarChartLoadBenchmark} class measures loading of chart files with
+ * {@link BarChartLoader}, in the text and in the binary chart format.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartLoader
+ * @see BarChartBinaryFormat
+ * @see BenchmarkRunner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class BarChartLoadBenchmark {
+
+    /** Number of x and y pairs in the file. */
+    @Param({ "1000", "100000", "1000000", "10000000" })
+    public int pairs;
+
+    /** Format of the file. */
+    @Param({ "TEXT", "BINARY" })
+    public Format format;
+
+    /** The chart file. */
+    private Path file;
+
+    /**
+     * Writes the chart file.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs while writing the file
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Path text = Files.createTempFile("chart", ".txt");
+        Random random = new Random(42);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(text, StandardCharsets.UTF_8)) {
+            writer.write("X label\nY label\n");
+            for (int i = 0; i < pairs; i++) {
+                writer.write(i + "," + (random.nextInt(45) - 22) + " ");
+            }
+            writer.write("\n-22\n22\n2\n");
+        }
+
+        if (format == Format.TEXT) {
+            file = text;
+        } else {
+            file = Files.createTempFile("chart", ".bin");
+            BarChartBinaryFormat.write(BarChartLoader.load(text), file);
+            Files.delete(text);
+        }
+    }
+
+    /**
+     * Deletes the chart file.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs while deleting the file
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Loads the chart file.
+     * 
+     * @return the chart
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     */
+    @Benchmark
+    public BarChart load() throws IOException {
+        return BarChartLoader.load(file);
+    }
+
+    /**
+     * {@code Format} is a enum class that represents the format of the chart
+     * file.
+     * 
+     * @author Karlo Vrbić
+     * @version 1.0
+     */
+    public enum Format {
+
+        /** Six-line text format. */
+        TEXT,
+        /** Binary chart format. */
+        BINARY;
+
+    }
+}
@@ -0,0 +1,174 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code BarChartPaintBenchmark} class measures painting of
+ * {@link BarChartComponent} into a {@link BufferedImage} without a display.
+ * <p>
+ * Charts have from one thousand to ten million bars, with only positive or
+ * with positive and negative y values, and are painted at several component
+ * sizes. Each benchmark measures one kind of repaint: when nothing changed,
+ * when chart values changed and when everything has to be computed again.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartComponent
+ * @see BenchmarkRunner
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Djava.awt.headless=true", "-Xmx4g" })
+public class BarChartPaintBenchmark {
+
+    /** Number of bars. */
+    @Param({ "1000", "100000", "1000000", "10000000" })
+    public int bars;
+
+    /** Size of the component, width and height separated by {@code x}. */
+    @Param({ "320x240", "1280x720", "2560x1440" })
+    public String size;
+
+    /** Sign of y values. */
+    @Param({ "POSITIVE", "MIXED" })
+    public Sign sign;
+
+    /** The chart. */
+    private BarChart chart;
+    /** The component. */
+    private BarChartComponent component;
+    /** Image the component is painted into. */
+    private BufferedImage image;
+    /** Graphics of the image. */
+    private Graphics2D g;
+
+    /** Y value written by the next change. */
+    private int nextY;
+
+    /**
+     * Creates the chart, the component and the image.
+     */
+    @Setup
+    public void setUp() {
+        int separator = size.indexOf('x');
+        int width = Integer.parseInt(size.substring(0, separator));
+        int height = Integer.parseInt(size.substring(separator + 1));
+
+        Random random = new Random(42);
+        int[] xs = new int[bars];
+        int[] ys = new int[bars];
+        for (int i = 0; i < bars; i++) {
+            xs[i] = i;
+            ys[i] = sign.min + random.nextInt(sign.max - sign.min + 1);
+        }
+
+        chart = new BarChart(xs, ys, bars, "X label", "Y label", sign.min, sign.max, 2);
+
+        component = new BarChartComponent(chart);
+        component.setSize(width, height);
+
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        g = image.createGraphics();
+        g.setColor(Color.BLACK);
+    }
+
+    /**
+     * Releases the graphics of the image.
+     */
+    @TearDown
+    public void tearDown() {
+        g.dispose();
+    }
+
+    /**
+     * Repaints the component when nothing changed.
+     * 
+     * @return the image
+     */
+    @Benchmark
+    public BufferedImage paintUnchanged() {
+        component.paintComponent(g);
+        return image;
+    }
+
+    /**
+     * Repaints the component after one y value changed.
+     * 
+     * @return the image
+     */
+    @Benchmark
+    public BufferedImage paintAfterUpdate() {
+        chart.update(bars / 2, nextY);
+        nextY = nextY == sign.max ? sign.min : nextY + 1;
+
+        component.paintComponent(g);
+        return image;
+    }
+
+    /**
+     * Repaints the component after its geometry was invalidated, so axes
+     * and bars are computed and drawn again.
+     * 
+     * @return the image
+     */
+    @Benchmark
+    public BufferedImage paintFull() {
+        component.setBarChart(chart);
+
+        component.paintComponent(g);
+        return image;
+    }
+
+    /**
+     * {@code Sign} is a enum class that represents the range of generated y
+     * values.
+     * 
+     * @author Karlo Vrbić
+     * @version 1.0
+     */
+    public enum Sign {
+
+        /** Only positive y values. */
+        POSITIVE(0, 22),
+        /** Positive and negative y values. */
+        MIXED(-22, 22);
+
+        /** Minimum y value. */
+        private final int min;
+        /** Maximum y value. */
+        private final int max;
+
+        /**
+         * Constructs a new {@code Sign} with specified range of y values.
+         * 
+         * @param min
+         *            minimum y value
+         * @param max
+         *            maximum y value
+         */
+        Sign(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package hr.fer.zemris.java.gui.charts;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@code BenchmarkRunner} class runs the JMH benchmarks of chart painting,
+ * loading and parsing with the GC profiler, so throughput is reported
+ * together with the allocation rate and the number of bytes allocated per operation.
+ * <p>
+ * The {@code jmh} source folder needs {@code jmh-core} on the class path and
+ * {@code jmh-generator-annprocess} as an annotation processor when it's
+ * compiled. Optional command-line argument is a regular expression of the
+ * benchmarks to run (default all of them), for example
+ * {@code BarChartPaintBenchmark.paintUnchanged}.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartPaintBenchmark
+ * @see BarChartLoadBenchmark
+ * @see XYValueParserBenchmark
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Starting point of a program.
+     * 
+     * @param args
+     *            Command-line argument
+     * @throws RunnerException
+     *             if benchmarks can't be run
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "hr\\.fer\\.zemris\\.java\\.gui\\.charts\\..*Benchmark";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,140 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code XYValueParserBenchmark} class compares the regular expression based
+ * parsing of x and y pairs, which {@link XYValue#valueOf(String)} used before,
+ * with {@link XYValueParser}.
+ * <p>
+ * Each benchmark parses the same {@value #PAIRS} pairs and is reported per
+ * pair, so with the GC profiler of {@link BenchmarkRunner} the allocation
+ * rate is reported as the number of bytes allocated per pair.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see XYValueParser
+ * @see BenchmarkRunner
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XYValueParserBenchmark {
+
+    /** Number of parsed pairs. */
+    private static final int PAIRS = 100_000;
+
+    /** Pairs which are parsed. */
+    private String[] pairs;
+    /** All pairs as ASCII bytes. */
+    private ByteBuffer buffer;
+    /** Offsets of the pairs in the buffer, pair {@code i} ends at {@code i + 1}. */
+    private int[] offsets;
+
+    /** The parser. */
+    private XYValueParser parser;
+
+    /**
+     * Generates the pairs and creates the parser.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+
+        pairs = new String[PAIRS];
+        offsets = new int[PAIRS + 1];
+
+        for (int i = 0; i < PAIRS; i++) {
+            pairs[i] = i + "," + (random.nextInt(2000) - 1000);
+            offsets[i] = sb.length();
+            sb.append(pairs[i]);
+        }
+        offsets[PAIRS] = sb.length();
+
+        buffer = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.US_ASCII));
+        parser = new XYValueParser();
+    }
+
+    /**
+     * Parses all pairs the way {@link XYValue#valueOf(String)} used to.
+     * 
+     * @return checksum
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int regexSplit() {
+        int sum = 0;
+        for (String s : pairs) {
+            String[] tmp = s.trim().split("\\s*,\\s*");
+            sum += Integer.valueOf(tmp[0]) + Integer.valueOf(tmp[1]);
+        }
+        return sum;
+    }
+
+    /**
+     * Parses all pairs with {@link XYValue#valueOf(String)}.
+     * 
+     * @return checksum
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int valueOf() {
+        int sum = 0;
+        for (String s : pairs) {
+            XYValue value = XYValue.valueOf(s);
+            sum += value.getX() + value.getY();
+        }
+        return sum;
+    }
+
+    /**
+     * Parses all pairs from strings with the parser.
+     * 
+     * @return checksum
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int parseCharSequence() {
+        int sum = 0;
+        for (String s : pairs) {
+            parser.parse(s);
+            sum += parser.getX() + parser.getY();
+        }
+        return sum;
+    }
+
+    /**
+     * Parses all pairs from the byte buffer with the parser.
+     * 
+     * @return checksum
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int parseByteBuffer() {
+        int sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            parser.parse(buffer, offsets[i], offsets[i + 1]);
+            sum += parser.getX() + parser.getY();
+        }
+        return sum;
+    }
+}
@@ -1,10 +1,32 @@
 package hr.fer.zemris.java.gui.charts;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * {@code BarChart} class represents a data model containg all the information
  * for the {@link BarChartComponent} object.
+ * <p>
+ * X and y values are stored in two primitive arrays (columns) sorted by x
+ * value, so each bar costs only two integers. Values are accessed by index
+ * through {@link #getX(int)} and {@link #getY(int)}. Values are sorted only if
+ * they aren't already sorted, which is checked in a single pass.
+ * <p>
+ * A chart can have more than one series of y values sharing the same x
+ * values. Each series is stored in its own column and accessed through
+ * {@link #getY(int, int)}. Methods which take a single y value work with the
+ * first series, and new pairs added by them have y value 0 in other series.
+ * <p>
+ * Values can be changed while the chart is shown: new pairs can be appended
+ * or inserted in order, y values can be updated by x value and the chart can
+ * be limited to a
+ * sliding window of the newest pairs. Columns are used as ring buffers, so
+ * dropping the oldest pair doesn't move the others. All changes are
+ * synchronized on this object and registered {@link BarChartListener}s are
+ * notified after each change. Code which reads more than one value from other
+ * threads should synchronize on this object as well.
  * 
  * @author Karlo Vrbić
  * @version 1.0
@@ -12,8 +34,21 @@ import java.util.List;
  */
 public class BarChart {
 
-    /** X and Y pairs. */
-    private List<XYValue> values;
+    /** X values sorted in ascending order, starting at {@code head}. */
+    private int[] xs;
+    /** Y values of each series, {@code ys[s][i]} belongs to {@code xs[i]}. */
+    private int[][] ys;
+    /** Index of the first pair in the columns. */
+    private int head;
+    /** Number of x and y pairs. */
+    private int size;
+    /** Maximum number of pairs, 0 if there is no limit. */
+    private int windowSize;
+    /** Number of changes of values, used to detect outdated copies. */
+    private volatile int modCount;
+
+    /** Listeners notified when values change. */
+    private List<BarChartListener> listeners = new CopyOnWriteArrayList<>();
     /** Label of the x axis. */
     private final String xAxisLabel;
     /** Label of the y axis. */
@@ -42,8 +77,91 @@ public class BarChart {
      *            difference between two adjacent y values on y axis
      */
     public BarChart(List<XYValue> values, String xAxisLabel, String yAxisLabel, int yMin, int yMax, int yDiff) {
-        this.values = values;
-        this.values.sort((v1, v2) -> Integer.compare(v1.getX(), v2.getX()));
+        this(xsOf(values), ysOf(values), values.size(), xAxisLabel, yAxisLabel, yMin, yMax, yDiff);
+    }
+
+    /**
+     * Constructs a new {@code BarChart} object with specified parameters.
+     * <p>
+     * Specified arrays are not copied and become the storage of this chart.
+     * Only the first {@code size} elements of each array are used.
+     * 
+     * @param xs
+     *            x values
+     * @param ys
+     *            y values, {@code ys[i]} belongs to {@code xs[i]}
+     * @param size
+     *            number of x and y pairs
+     * @param xAxisLabel
+     *            label of the x axis
+     * @param yAxisLabel
+     *            label of the y axis
+     * @param yMin
+     *            minimum y value
+     * @param yMax
+     *            maximum y value
+     * @param yDiff
+     *            difference between two adjacent y values on y axis
+     * @throws IllegalArgumentException
+     *             if {@code size} is negative or bigger than length of any of
+     *             the arrays
+     */
+    public BarChart(int[] xs, int[] ys, int size, String xAxisLabel, String yAxisLabel, int yMin, int yMax,
+            int yDiff) {
+        this(xs, new int[][] { ys }, size, xAxisLabel, yAxisLabel, yMin, yMax, yDiff);
+    }
+
+    /**
+     * Constructs a new {@code BarChart} object with one or more series of y
+     * values.
+     * <p>
+     * Specified arrays are not copied and become the storage of this chart.
+     * Only the first {@code size} elements of each array are used.
+     * 
+     * @param xs
+     *            x values
+     * @param ys
+     *            y values of each series, {@code ys[s][i]} belongs to
+     *            {@code xs[i]}
+     * @param size
+     *            number of x and y pairs
+     * @param xAxisLabel
+     *            label of the x axis
+     * @param yAxisLabel
+     *            label of the y axis
+     * @param yMin
+     *            minimum y value
+     * @param yMax
+     *            maximum y value
+     * @param yDiff
+     *            difference between two adjacent y values on y axis
+     * @throws IllegalArgumentException
+     *             if there are no series or {@code size} is negative or
+     *             bigger than length of any of the arrays
+     */
+    public BarChart(int[] xs, int[][] ys, int size, String xAxisLabel, String yAxisLabel, int yMin, int yMax,
+            int yDiff) {
+        if (xs == null || ys == null)
+            throw new NullPointerException("Value arrays cannot be null references!");
+
+        if (ys.length == 0)
+            throw new IllegalArgumentException("Chart must have at least one series!");
+
+        if (size < 0 || size > xs.length)
+            throw new IllegalArgumentException("Invalid number of values: " + size + "!");
+
+        for (int[] column : ys) {
+            if (column == null)
+                throw new NullPointerException("Value arrays cannot be null references!");
+
+            if (size > column.length)
+                throw new IllegalArgumentException("Invalid number of values: " + size + "!");
+        }
+
+        this.xs = xs;
+        this.ys = ys;
+        this.size = size;
+        sortByX();
         this.xAxisLabel = xAxisLabel;
         this.yAxisLabel = yAxisLabel;
         this.yMin = yMin;
@@ -52,12 +170,429 @@ public class BarChart {
     }
 
     /**
-     * Returns the values.
+     * Returns the number of x and y pairs.
+     * 
+     * @return the number of x and y pairs
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the x value at specified index.
+     * 
+     * @param index
+     *            the index of the pair
+     * @return the x value at specified index
+     */
+    public int getX(int index) {
+        return xs[physicalIndex(index)];
+    }
+
+    /**
+     * Returns the y value of the first series at specified index.
+     * 
+     * @param index
+     *            the index of the pair
+     * @return the y value at specified index
+     */
+    public int getY(int index) {
+        return ys[0][physicalIndex(index)];
+    }
+
+    /**
+     * Returns the y value of specified series at specified index.
+     * 
+     * @param series
+     *            the index of the series
+     * @param index
+     *            the index of the pair
+     * @return the y value at specified index
+     */
+    public int getY(int series, int index) {
+        return ys[series][physicalIndex(index)];
+    }
+
+    /**
+     * Returns the x values of all pairs, from the oldest to the newest one, in
+     * a new array.
+     * 
+     * @return copy of the x values
+     */
+    synchronized int[] copyXs() {
+        return unwrap(xs);
+    }
+
+    /**
+     * Returns the y values of specified series, from the oldest pair to the
+     * newest one, in a new array.
+     * 
+     * @param series
+     *            the index of the series
+     * @return copy of the y values
+     */
+    synchronized int[] copyYs(int series) {
+        return unwrap(ys[series]);
+    }
+
+    /**
+     * Returns the number of series of y values.
+     * 
+     * @return the number of series
+     */
+    public int getSeriesCount() {
+        return ys.length;
+    }
+
+    /**
+     * Searches for specified x value using binary search.
+     * 
+     * @param x
+     *            the x value
+     * @return index of the pair with specified x value if there is one;
+     *         otherwise {@code (-(insertion point) - 1)} where insertion point
+     *         is the index of the first pair with bigger x value
+     */
+    public int binarySearch(int x) {
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midX = getX(mid);
+
+            if (midX < x) {
+                low = mid + 1;
+            } else if (midX > x) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    /**
+     * Appends specified pair after all other pairs. If chart is limited to a
+     * window and it's full, the oldest pair is dropped.
+     * 
+     * @param x
+     *            x value, cannot be smaller than the biggest x value
+     * @param y
+     *            y value
+     * @throws IllegalArgumentException
+     *             if x value is smaller than the biggest x value
+     */
+    public void append(int x, int y) {
+        append(x, y, null);
+    }
+
+    /**
+     * Appends specified x value with y value of each series after all other
+     * pairs. If chart is limited to a window and it's full, the oldest pair is
+     * dropped.
+     * 
+     * @param x
+     *            x value, cannot be smaller than the biggest x value
+     * @param ys
+     *            y value of each series
+     * @throws IllegalArgumentException
+     *             if x value is smaller than the biggest x value or the
+     *             number of y values isn't the number of series
+     */
+    public void append(int x, int[] ys) {
+        checkValues(ys);
+        append(x, 0, ys);
+    }
+
+    /**
+     * Appends specified pair after all other pairs.
+     * 
+     * @param x
+     *            x value
+     * @param y
+     *            y value of the first series, used if {@code values} is
+     *            {@code null}
+     * @param values
+     *            y value of each series, can be {@code null}
+     */
+    private void append(int x, int y, int[] values) {
+        synchronized (this) {
+            if (size > 0 && x < getX(size - 1))
+                throw new IllegalArgumentException(
+                        "X value " + x + " is smaller than the biggest x value " + getX(size - 1) + "!");
+
+            addLast(x, y, values);
+        }
+
+        fireChanged();
+    }
+
+    /**
+     * Inserts specified pair after all pairs with smaller or equal x value.
+     * The position is found using binary search and the following pairs are
+     * moved by one place, so the values never need to be sorted again. If x
+     * value is not smaller than the biggest x value, this is the same as
+     * {@link #append(int, int)}.
+     * <p>
+     * If chart is limited to a window and it's full, the pair with the
+     * smallest x value is dropped. Specified pair is ignored if its x value is
+     * smaller than all x values in a full window.
+     * 
+     * @param x
+     *            x value
+     * @param y
+     *            y value
+     */
+    public void insert(int x, int y) {
+        insert(x, y, null);
+    }
+
+    /**
+     * Inserts specified x value with y value of each series after all pairs
+     * with smaller or equal x value, the same way as
+     * {@link #insert(int, int)}.
+     * 
+     * @param x
+     *            x value
+     * @param ys
+     *            y value of each series
+     * @throws IllegalArgumentException
+     *             if the number of y values isn't the number of series
+     */
+    public void insert(int x, int[] ys) {
+        checkValues(ys);
+        insert(x, 0, ys);
+    }
+
+    /**
+     * Inserts specified pair after all pairs with smaller or equal x value.
+     * 
+     * @param x
+     *            x value
+     * @param y
+     *            y value of the first series, used if {@code values} is
+     *            {@code null}
+     * @param values
+     *            y value of each series, can be {@code null}
+     */
+    private void insert(int x, int y, int[] values) {
+        synchronized (this) {
+            if (size == 0 || x >= getX(size - 1)) {
+                addLast(x, y, values);
+            } else if (!insertBefore(upperBound(x), x, y, values)) {
+                return;
+            }
+        }
+
+        fireChanged();
+    }
+
+    /**
+     * Inserts specified pairs the same way as {@link #insert(int, int)}, but
+     * listeners are notified only once, after all pairs are inserted.
+     * 
+     * @param xs
+     *            x values
+     * @param ys
+     *            y values of the first series, {@code ys[i]} belongs to
+     *            {@code xs[i]}
+     * @param count
+     *            number of pairs
+     * @throws IllegalArgumentException
+     *             if {@code count} is negative or bigger than length of any of
+     *             the arrays
+     */
+    public void insertAll(int[] xs, int[] ys, int count) {
+        if (xs == null || ys == null)
+            throw new NullPointerException("Value arrays cannot be null references!");
+
+        if (count < 0 || count > xs.length || count > ys.length)
+            throw new IllegalArgumentException("Invalid number of values: " + count + "!");
+
+        boolean changed = false;
+
+        synchronized (this) {
+            for (int i = 0; i < count; i++) {
+                if (size == 0 || xs[i] >= getX(size - 1)) {
+                    addLast(xs[i], ys[i], null);
+                    changed = true;
+                } else {
+                    changed |= insertBefore(upperBound(xs[i]), xs[i], ys[i], null);
+                }
+            }
+        }
+
+        if (changed) {
+            fireChanged();
+        }
+    }
+
+    /**
+     * Sets the y value of the first series of the pair with specified x value.
+     * 
+     * @param x
+     *            x value of the pair
+     * @param y
+     *            the new y value
+     * @return {@code true} if there is a pair with specified x value;
+     *         {@code false} otherwise
+     */
+    public boolean update(int x, int y) {
+        synchronized (this) {
+            int index = binarySearch(x);
+            if (index < 0)
+                return false;
+
+            ys[0][physicalIndex(index)] = y;
+            modCount++;
+        }
+
+        fireChanged();
+        return true;
+    }
+
+    /**
+     * Sets the y value of each series of the pair with specified x value.
+     * 
+     * @param x
+     *            x value of the pair
+     * @param ys
+     *            the new y value of each series
+     * @return {@code true} if there is a pair with specified x value;
+     *         {@code false} otherwise
+     * @throws IllegalArgumentException
+     *             if the number of y values isn't the number of series
+     */
+    public boolean update(int x, int[] ys) {
+        checkValues(ys);
+
+        synchronized (this) {
+            int index = binarySearch(x);
+            if (index < 0)
+                return false;
+
+            int physical = physicalIndex(index);
+            for (int s = 0; s < ys.length; s++) {
+                this.ys[s][physical] = ys[s];
+            }
+            modCount++;
+        }
+
+        fireChanged();
+        return true;
+    }
+
+    /**
+     * Removes all pairs. The window size and the capacity of the columns are
+     * kept.
+     */
+    public void clear() {
+        synchronized (this) {
+            head = 0;
+            size = 0;
+            modCount++;
+        }
+
+        fireChanged();
+    }
+
+    /**
+     * Returns the maximum number of pairs in this chart.
+     * 
+     * @return the maximum number of pairs, 0 if there is no limit
+     */
+    public synchronized int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Limits this chart to specified number of newest pairs. If there are
+     * more pairs, the oldest ones are dropped.
+     * 
+     * @param windowSize
+     *            the maximum number of pairs, 0 if there is no limit
+     * @throws IllegalArgumentException
+     *             if window size is negative
+     */
+    public void setWindowSize(int windowSize) {
+        if (windowSize < 0)
+            throw new IllegalArgumentException("Window size cannot be negative: " + windowSize + "!");
+
+        synchronized (this) {
+            int newSize = windowSize > 0 ? Math.min(size, windowSize) : size;
+
+            relocate(size - newSize, newSize, windowSize > 0 ? windowSize : xs.length);
+            this.windowSize = windowSize;
+            modCount++;
+        }
+
+        fireChanged();
+    }
+
+    /**
+     * Returns the number of changes of values. The number is different after
+     * each change, so it can be used to check if values changed.
+     * 
+     * @return the number of changes of values
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Adds specified listener which will be notified when values change.
+     * Listeners are notified from the thread which changed the values.
+     * 
+     * @param l
+     *            the listener
+     */
+    public void addBarChartListener(BarChartListener l) {
+        if (l == null)
+            throw new NullPointerException("You cannot add a null reference as BarChartListener!");
+
+        listeners.add(l);
+    }
+
+    /**
+     * Removes specified listener.
+     * 
+     * @param l
+     *            the listener
+     */
+    public void removeBarChartListener(BarChartListener l) {
+        if (l == null)
+            throw new NullPointerException("You cannot remove a null reference as BarChartListener!");
+
+        listeners.remove(l);
+    }
+
+    /**
+     * Returns the unmodifiable view of values of the first series.
+     * <p>
+     * Each {@link XYValue} object is created when it's accessed, so
+     * {@link #getX(int)} and {@link #getY(int)} should be used where
+     * performance matters.
      * 
      * @return the values
      */
     public List<XYValue> getValues() {
-        return values;
+        return new AbstractList<XYValue>() {
+
+            @Override
+            public XYValue get(int index) {
+                if (index < 0 || index >= size)
+                    throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+
+                return new XYValue(getX(index), getY(index));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
     }
 
     /**
@@ -105,4 +640,335 @@ public class BarChart {
         return yDiff;
     }
 
+    /**
+     * Checks that specified array has one y value for each series.
+     * 
+     * @param values
+     *            y value of each series
+     * @throws IllegalArgumentException
+     *             if the number of y values isn't the number of series
+     */
+    private void checkValues(int[] values) {
+        if (values == null)
+            throw new NullPointerException("Y values cannot be a null reference!");
+
+        if (values.length != ys.length)
+            throw new IllegalArgumentException(
+                    "Expected " + ys.length + " y values, but got " + values.length + "!");
+    }
+
+    /**
+     * Notifies all listeners that values changed.
+     */
+    private void fireChanged() {
+        listeners.forEach(l -> l.barChartChanged(this));
+    }
+
+    /**
+     * Returns the index in the columns of the pair with specified index.
+     * 
+     * @param index
+     *            the index of the pair
+     * @return the index in the columns
+     */
+    private int physicalIndex(int index) {
+        int physical = head + index;
+
+        return physical < xs.length ? physical : physical - xs.length;
+    }
+
+    /**
+     * Copies values of all pairs from specified column to a new array, with
+     * the oldest pair first.
+     * 
+     * @param column
+     *            the column
+     * @return the values in order of the pairs
+     */
+    private int[] unwrap(int[] column) {
+        int[] values = new int[size];
+        int first = Math.min(size, column.length - head);
+
+        System.arraycopy(column, head, values, 0, first);
+        System.arraycopy(column, 0, values, first, size - first);
+        return values;
+    }
+
+    /**
+     * Makes sure that columns can hold specified number of pairs.
+     * 
+     * @param capacity
+     *            the number of pairs
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= xs.length)
+            return;
+
+        int newCapacity = Math.max(capacity, xs.length + (xs.length >> 1));
+        if (windowSize > 0) {
+            newCapacity = Math.min(newCapacity, windowSize);
+        }
+
+        relocate(0, size, newCapacity);
+    }
+
+    /**
+     * Moves specified pairs to the beginning of new columns of specified
+     * capacity. Other pairs are dropped.
+     * 
+     * @param from
+     *            the index of the first pair which is kept
+     * @param count
+     *            the number of pairs which are kept
+     * @param capacity
+     *            capacity of the new columns
+     */
+    private void relocate(int from, int count, int capacity) {
+        int[] newXs = new int[capacity];
+        int[][] newYs = new int[ys.length][capacity];
+
+        for (int i = 0; i < count; i++) {
+            int index = physicalIndex(from + i);
+            newXs[i] = xs[index];
+            for (int s = 0; s < ys.length; s++) {
+                newYs[s][i] = ys[s][index];
+            }
+        }
+
+        xs = newXs;
+        ys = newYs;
+        head = 0;
+        size = count;
+    }
+
+    /**
+     * Stores specified pair at specified index in the columns.
+     * 
+     * @param index
+     *            the index in the columns
+     * @param x
+     *            x value
+     * @param y
+     *            y value of the first series, used if {@code values} is
+     *            {@code null}
+     * @param values
+     *            y value of each series, {@code null} if only the first
+     *            series has a y value
+     */
+    private void set(int index, int x, int y, int[] values) {
+        xs[index] = x;
+
+        for (int s = 0; s < ys.length; s++) {
+            ys[s][index] = values != null ? values[s] : s == 0 ? y : 0;
+        }
+    }
+
+    /**
+     * Adds specified pair after all other pairs, dropping the oldest pair if
+     * chart is limited to a window and it's full.
+     * 
+     * @param x
+     *            x value
+     * @param y
+     *            y value of the first series, used if {@code values} is
+     *            {@code null}
+     * @param values
+     *            y value of each series, can be {@code null}
+     */
+    private void addLast(int x, int y, int[] values) {
+        if (windowSize > 0 && size == windowSize) {
+            set(head, x, y, values);
+            head = physicalIndex(1);
+        } else {
+            ensureCapacity(size + 1);
+
+            set(physicalIndex(size), x, y, values);
+            size++;
+        }
+
+        modCount++;
+    }
+
+    /**
+     * Inserts specified pair at specified index, moving the following pairs
+     * by one place. If chart is limited to a window and it's full, the first
+     * pair is dropped.
+     * 
+     * @param index
+     *            the index of the pair, smaller than the number of pairs
+     * @param x
+     *            x value
+     * @param y
+     *            y value of the first series, used if {@code values} is
+     *            {@code null}
+     * @param values
+     *            y value of each series, can be {@code null}
+     * @return {@code true} if the pair was inserted; {@code false} if it
+     *         would be the dropped pair
+     */
+    private boolean insertBefore(int index, int x, int y, int[] values) {
+        if (windowSize > 0 && size == windowSize) {
+            if (index == 0)
+                return false;
+
+            head = physicalIndex(1);
+            size--;
+            index--;
+        }
+
+        ensureCapacity(size + 1);
+
+        shiftRight(xs, index);
+        for (int[] column : ys) {
+            shiftRight(column, index);
+        }
+        set(physicalIndex(index), x, y, values);
+        size++;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Moves the elements of specified column from the pair with specified
+     * index to the last pair by one place towards the end, wrapping around the
+     * end of the column. The column must have a free place after the last
+     * pair.
+     * 
+     * @param column
+     *            the column
+     * @param index
+     *            the index of the first moved pair
+     */
+    private void shiftRight(int[] column, int index) {
+        int start = physicalIndex(index);
+        int end = physicalIndex(size);
+
+        if (start <= end) {
+            System.arraycopy(column, start, column, start + 1, end - start);
+        } else {
+            int last = column.length - 1;
+
+            System.arraycopy(column, 0, column, 1, end);
+            column[0] = column[last];
+            System.arraycopy(column, start, column, start + 1, last - start);
+        }
+    }
+
+    /**
+     * Returns the index of the first pair with x value bigger than or equal to
+     * specified x value.
+     * 
+     * @param x
+     *            the x value
+     * @return the index of the first pair with bigger or equal x value, or the
+     *         number of pairs if there is none
+     */
+    int lowerBound(int x) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (getX(mid) < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the index of the first pair with x value bigger than specified
+     * x value.
+     * 
+     * @param x
+     *            the x value
+     * @return the index of the first pair with bigger x value, or the number
+     *         of pairs if there is none
+     */
+    int upperBound(int x) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (getX(mid) <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Checks if x values are sorted in ascending order.
+     * 
+     * @return {@code true} if x values are sorted; {@code false} otherwise
+     */
+    private boolean isSortedByX() {
+        for (int i = 1; i < size; i++) {
+            if (xs[i - 1] > xs[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Sorts x values in ascending order, keeping each y value with its x
+     * value. Pairs with the same x value keep their order. Values which are
+     * already sorted are not changed.
+     */
+    private void sortByX() {
+        if (isSortedByX())
+            return;
+
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) xs[i] << 32) | i;
+        }
+
+        Arrays.sort(keys);
+
+        for (int i = 0; i < size; i++) {
+            xs[i] = (int) (keys[i] >> 32);
+        }
+
+        for (int[] column : ys) {
+            int[] unsorted = Arrays.copyOf(column, size);
+            for (int i = 0; i < size; i++) {
+                column[i] = unsorted[(int) keys[i]];
+            }
+        }
+    }
+
+    /**
+     * Returns the x values of specified pairs.
+     * 
+     * @param values
+     *            x and y pairs
+     * @return the x values
+     */
+    private static int[] xsOf(List<XYValue> values) {
+        return values.stream().mapToInt(XYValue::getX).toArray();
+    }
+
+    /**
+     * Returns the y values of specified pairs.
+     * 
+     * @param values
+     *            x and y pairs
+     * @return the y values
+     */
+    private static int[] ysOf(List<XYValue> values) {
+        return values.stream().mapToInt(XYValue::getY).toArray();
+    }
+
 }
@@ -0,0 +1,354 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code BarChartBinaryFormat} class reads and writes a {@link BarChart} in a
+ * compact binary format.
+ * <p>
+ * All numbers are little-endian 32-bit integers. The file starts with a
+ * header: the magic bytes {@code 0x89 'B' 'C' 'H'}, the format version, the
+ * number of x and y pairs, minimum y value, maximum y value, difference
+ * between two adjacent y values and the labels of the x and y axis, each
+ * written as its length in bytes followed by its UTF-8 bytes. The header is
+ * padded with zeros to a multiple of four bytes and followed by the column of
+ * x values sorted in ascending order and the column of y values.
+ * <p>
+ * Columns are memory-mapped and copied into the chart arrays in bulk, so
+ * reading a file doesn't parse anything and takes time proportional only to
+ * copying its bytes.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChart
+ * @see BarChartLoader
+ */
+public class BarChartBinaryFormat {
+
+    /** Magic bytes at the start of every binary chart file. */
+    private static final byte[] MAGIC = { (byte) 0x89, 'B', 'C', 'H' };
+
+    /** Current version of the format. */
+    public static final int VERSION = 1;
+
+    /** Size (in bytes) of the header without the labels. */
+    private static final int FIXED_HEADER_SIZE = MAGIC.length + 5 * Integer.BYTES;
+
+    /** Size (in bytes) of one memory-mapped window of a column. */
+    private static final int WINDOW_SIZE = 1 << 26;
+
+    /** Size (in bytes) of the buffer used for writing. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Constructs a new {@code BarChartBinaryFormat} object.
+     */
+    private BarChartBinaryFormat() {
+    }
+
+    /**
+     * Checks if specified file starts with the magic bytes of the binary chart
+     * format.
+     * 
+     * @param channel
+     *            channel of the file
+     * @return {@code true} if the file is a binary chart file; {@code false}
+     *         otherwise
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     */
+    static boolean isBinary(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+        readFully(channel, magic, 0);
+
+        if (magic.hasRemaining())
+            return false;
+
+        magic.flip();
+        return magic.equals(ByteBuffer.wrap(MAGIC));
+    }
+
+    /**
+     * Returns the {@code BarChart} object read from the specified binary chart
+     * file.
+     * 
+     * @param path
+     *            the path to file
+     * @return the {@code BarChart} object read from the specified file path
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     * @throws IllegalArgumentException
+     *             if the file isn't a valid binary chart file
+     */
+    public static BarChart read(Path path) throws IOException {
+        if (path == null)
+            throw new NullPointerException("Path parameter cannot be a null reference!");
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Returns the {@code BarChart} object read from the specified channel of a
+     * binary chart file.
+     * 
+     * @param channel
+     *            channel of the file
+     * @return the {@code BarChart} object read from the file
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     * @throws IllegalArgumentException
+     *             if the file isn't a valid binary chart file
+     */
+    static BarChart read(FileChannel channel) throws IOException {
+        if (!isBinary(channel))
+            throw new IllegalArgumentException("File is not a binary chart file!");
+
+        ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_SIZE - MAGIC.length).order(ByteOrder.LITTLE_ENDIAN);
+        long position = readHeader(channel, header, MAGIC.length);
+
+        int version = header.getInt();
+        if (version != VERSION)
+            throw new IllegalArgumentException("Unsupported binary chart version: " + version + "!");
+
+        int size = header.getInt();
+        int yMin = header.getInt();
+        int yMax = header.getInt();
+        int yDiff = header.getInt();
+
+        if (size < 0)
+            throw new IllegalArgumentException("Invalid number of values: " + size + "!");
+
+        String[] labels = new String[2];
+        for (int i = 0; i < labels.length; i++) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            position = readHeader(channel, length, position);
+
+            int labelLength = length.getInt();
+            if (labelLength < 0 || position + labelLength > channel.size())
+                throw new IllegalArgumentException("Binary chart file is truncated!");
+
+            ByteBuffer label = ByteBuffer.allocate(labelLength);
+            position = readHeader(channel, label, position);
+            labels[i] = new String(label.array(), StandardCharsets.UTF_8);
+        }
+
+        long columns = align(position);
+        long columnSize = (long) size * Integer.BYTES;
+
+        if (channel.size() != columns + 2 * columnSize)
+            throw new IllegalArgumentException("Binary chart file is truncated!");
+
+        int[] xs = new int[size];
+        int[] ys = new int[size];
+        readColumn(channel, columns, xs);
+        readColumn(channel, columns + columnSize, ys);
+
+        return new BarChart(xs, ys, size, labels[0], labels[1], yMin, yMax, yDiff);
+    }
+
+    /**
+     * Writes specified chart to the specified file in the binary chart format.
+     * The file is created if it doesn't exist and replaced otherwise. The
+     * chart is locked only while its values are copied, so it can be changed
+     * and painted while the file is being written.
+     * 
+     * @param chart
+     *            the chart
+     * @param path
+     *            the path to file
+     * @throws IOException
+     *             if an I/O error occurs while writing the file
+     * @throws IllegalArgumentException
+     *             if chart has more than one series
+     */
+    public static void write(BarChart chart, Path path) throws IOException {
+        if (chart == null)
+            throw new NullPointerException("Chart parameter cannot be a null reference!");
+        if (path == null)
+            throw new NullPointerException("Path parameter cannot be a null reference!");
+        if (chart.getSeriesCount() != 1)
+            throw new IllegalArgumentException("Only charts with one series can be written in binary format!");
+
+        int[] xs;
+        int[] ys;
+        synchronized (chart) {
+            xs = chart.copyXs();
+            ys = chart.copyYs(0);
+        }
+
+        byte[] xLabel = chart.getXAxisLabel().getBytes(StandardCharsets.UTF_8);
+        byte[] yLabel = chart.getYAxisLabel().getBytes(StandardCharsets.UTF_8);
+
+        int headerSize = FIXED_HEADER_SIZE + 2 * Integer.BYTES + xLabel.length + yLabel.length;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE, (int) align(headerSize)));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            buffer.put(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt(xs.length);
+            buffer.putInt(chart.getYMin());
+            buffer.putInt(chart.getYMax());
+            buffer.putInt(chart.getYDiff());
+            buffer.putInt(xLabel.length);
+            buffer.put(xLabel);
+            buffer.putInt(yLabel.length);
+            buffer.put(yLabel);
+            while (buffer.position() % Integer.BYTES != 0) {
+                buffer.put((byte) 0);
+            }
+
+            writeColumn(channel, buffer, xs);
+            writeColumn(channel, buffer, ys);
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads the whole specified header buffer from the specified position of
+     * the channel and prepares it for getting values.
+     * 
+     * @param channel
+     *            channel of the file
+     * @param buffer
+     *            the header buffer
+     * @param position
+     *            position in the file
+     * @return position in the file after the header buffer
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     * @throws IllegalArgumentException
+     *             if the file ends before the buffer is full
+     */
+    private static long readHeader(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        readFully(channel, buffer, position);
+
+        if (buffer.hasRemaining())
+            throw new IllegalArgumentException("Binary chart file is truncated!");
+
+        buffer.flip();
+        return position + buffer.limit();
+    }
+
+    /**
+     * Reads bytes from the specified position of the channel until the buffer
+     * is full or the end of the file is reached.
+     * 
+     * @param channel
+     *            channel of the file
+     * @param buffer
+     *            the buffer
+     * @param position
+     *            position in the file
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0)
+                return;
+
+            position += read;
+        }
+    }
+
+    /**
+     * Copies the column starting at specified position of the file into
+     * specified array, one memory-mapped window at a time.
+     * 
+     * @param channel
+     *            channel of the file
+     * @param position
+     *            position of the column in the file
+     * @param column
+     *            the array
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     */
+    private static void readColumn(FileChannel channel, long position, int[] column) throws IOException {
+        int valuesPerWindow = WINDOW_SIZE / Integer.BYTES;
+
+        for (int offset = 0; offset < column.length; offset += valuesPerWindow) {
+            int length = Math.min(valuesPerWindow, column.length - offset);
+
+            IntBuffer window = channel
+                    .map(MapMode.READ_ONLY, position + (long) offset * Integer.BYTES, (long) length * Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer();
+
+            window.get(column, offset, length);
+        }
+    }
+
+    /**
+     * Puts values of the specified column to the buffer, flushing it to the
+     * channel whenever it gets full.
+     * 
+     * @param channel
+     *            channel of the file
+     * @param buffer
+     *            the buffer, its position is aligned to four bytes
+     * @param column
+     *            the column
+     * @throws IOException
+     *             if an I/O error occurs while writing the file
+     */
+    private static void writeColumn(FileChannel channel, ByteBuffer buffer, int[] column) throws IOException {
+        for (int offset = 0; offset < column.length;) {
+            if (!buffer.hasRemaining()) {
+                flush(channel, buffer);
+            }
+
+            int length = Math.min(buffer.remaining() / Integer.BYTES, column.length - offset);
+            buffer.asIntBuffer().put(column, offset, length);
+            buffer.position(buffer.position() + length * Integer.BYTES);
+            offset += length;
+        }
+    }
+
+    /**
+     * Writes all bytes of the specified buffer to the channel and clears the
+     * buffer.
+     * 
+     * @param channel
+     *            channel of the file
+     * @param buffer
+     *            the buffer
+     * @throws IOException
+     *             if an I/O error occurs while writing the file
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns specified position rounded up to a multiple of four bytes.
+     * 
+     * @param position
+     *            the position
+     * @return the aligned position
+     */
+    private static long align(long position) {
+        return (position + Integer.BYTES - 1) / Integer.BYTES * Integer.BYTES;
+    }
+}
@@ -1,22 +1,71 @@
 package hr.fer.zemris.java.gui.charts;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
-import java.awt.font.TextAttribute;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.geom.AffineTransform;
-import java.text.AttributedString;
-import java.util.List;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 /**
  * {@code BarChartComponent} class represents a bar chart.
  * <p>
  * This class takes data from {@link BarChart} and displays it on the screen.
+ * <p>
+ * When there are more x values than pixels on the x axis, bars are drawn as
+ * specified by {@link LevelOfDetail}, so painting doesn't depend on the number
+ * of values.
+ * <p>
+ * Axis positions and bar rectangles are computed once and stored in primitive
+ * arrays. They are computed again only when the size of the component or the
+ * level of detail changes, otherwise painting just draws stored rectangles.
+ * <p>
+ * Painting is done in two layers, each drawn into its own image: axes with
+ * labels, numbers and grid lines, and bars on top of them. A layer is drawn
+ * again only when something it shows changes, otherwise the component is
+ * painted by copying both images.
+ * <p>
+ * While the component is displayed it listens for changes of the chart
+ * values. Changes from any thread are coalesced into at most one repaint per
+ * frame on the event dispatch thread, and only the bars layer is drawn again
+ * unless the numbers on the x axis changed.
+ * <p>
+ * Bars are placed along the x axis as specified by {@link XAxisMode}. Numbers
+ * on the x axis are decimated so they never overlap, and their positions are
+ * computed together with the bars, so drawing the x axis depends only on its
+ * length in pixels and not on the range of x values.
+ * <p>
+ * Only a part of the x range, the viewport, is shown. It can be zoomed with
+ * the mouse wheel and panned by dragging the mouse, and double click shows
+ * the whole range again. The bars inside the viewport are found using binary
+ * search on the sorted x values, so the cost of painting depends only on the
+ * number of visible bars.
+ * <p>
+ * Numbers on the y axis are decimated too: the difference between two
+ * adjacent numbers is the chart's y difference multiplied by 1, 2 or 5 times a
+ * power of ten, so numbers are never closer than a few pixels. The y range can
+ * also be computed from the visible values, see
+ * {@link #setYAxisAutoRange(boolean)}.
+ * <p>
+ * Charts with more than one series are drawn as specified by
+ * {@link SeriesMode}. Axes, numbers and grid lines are computed and drawn once
+ * for all series, and bars of each series are drawn with their own color.
+ * <p>
+ * Durations of painting phases can be recorded into {@link PaintStatistics}
+ * and shown in a debug overlay. Nothing is measured unless statistics are
+ * set.
  * 
  * @author Karlo Vrbić
  * @version 1.0
@@ -34,13 +83,40 @@ public class BarChartComponent extends JComponent {
     /** Font of the text. */
     private static final Font FONT = new Font(null, Font.PLAIN, 20);
 
+    /** Minimum time (in milliseconds) between two repaints caused by changes. */
+    private static final int FRAME_DELAY = 1000 / 60;
+
+    /** Font of the debug overlay. */
+    private static final Font OVERLAY_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    /** Background color of the debug overlay. */
+    private static final Color OVERLAY_BACKGROUND = new Color(255, 255, 255, 220);
+    /** Space (in pixels) between the debug overlay text and its edge. */
+    private static final int OVERLAY_PADDING = 4;
+
+    /** Factor the viewport width is multiplied by for each wheel notch. */
+    private static final double ZOOM_FACTOR = 1.25;
+
+    /** Minimum space (in pixels) between two numbers on the x axis. */
+    private static final int NUMBER_SPACING = 10;
+
+    /** Minimum distance (in pixels) between two numbers on the y axis. */
+    private static final int Y_NUMBER_DISTANCE = 15;
+
+    /** Default colors of series. */
+    private static final Color[] DEFAULT_SERIES_COLORS = {
+            Color.ORANGE,
+            new Color(0x1F77B4),
+            new Color(0x2CA02C),
+            new Color(0xD62728),
+            new Color(0x9467BD),
+            new Color(0x8C564B)
+    };
+
     /** Bar chart data model. */
     private BarChart barChart;
 
-    /** X axis label. */
-    private AttributedString xAxisLabel;
-    /** Y axis label. */
-    private AttributedString yAxisLabel;
+    /** Cache of glyphs of axis labels and numbers. */
+    private final GlyphCache glyphs = new GlyphCache(FONT);
 
     /** Y axis length. */
     private int yAxisLength;
@@ -56,6 +132,109 @@ public class BarChartComponent extends JComponent {
     /** X axis ending point. */
     private Point xAxisEnd;
 
+    /** Level of detail used when there are more x values than pixels. */
+    private LevelOfDetail levelOfDetail = LevelOfDetail.ENVELOPE;
+    /** Way bars are placed along the x axis. */
+    private XAxisMode xAxisMode = XAxisMode.CONTINUOUS;
+    /** Way bars of more than one series are drawn. */
+    private SeriesMode seriesMode = SeriesMode.GROUPED;
+    /** Colors of series, used again from the start if there are more series. */
+    private Color[] seriesColors = DEFAULT_SERIES_COLORS;
+    /** Flag that indicates whether the y range is computed from the values. */
+    private boolean yAxisAutoRange;
+
+    /** Start of the viewport as a fraction of all slots. */
+    private double viewportStart = 0;
+    /** End of the viewport as a fraction of all slots. */
+    private double viewportEnd = 1;
+
+    /** Minimum y value of each pixel column and series. */
+    private int[] bucketMin;
+    /** Maximum y value of each pixel column and series. */
+    private int[] bucketMax;
+    /** Sum of y values of each pixel column and series. */
+    private long[] bucketSum;
+    /** Number of pairs of each pixel column. */
+    private int[] bucketCount;
+
+    /** Top of positive stacked values of each bar or pixel column. */
+    private long[] stackPositive = new long[0];
+    /** Bottom of negative stacked values of each bar or pixel column. */
+    private long[] stackNegative = new long[0];
+
+    /** Width the geometry was computed for, -1 if it needs to be computed. */
+    private int geometryWidth = -1;
+    /** Height the geometry was computed for, -1 if it needs to be computed. */
+    private int geometryHeight = -1;
+
+    /** Number of changes of chart values the geometry was computed for. */
+    private int geometryModCount;
+
+    /** Smallest x value in the viewport. */
+    private int xMin;
+    /** Biggest x value in the viewport. */
+    private int xMax;
+    /** Index of the first bar in the viewport. */
+    private int fromIndex;
+    /** Index after the last bar in the viewport. */
+    private int toIndex;
+    /** Index of the first visible slot among all slots. */
+    private long firstSlot;
+    /** Number of visible slots, one for each x value or each bar. */
+    private long slots;
+    /** Width (in pixels) of one slot, 0 if slots are narrower than a pixel. */
+    private int xValueDiff;
+
+    /** Y value at the start of the y axis. */
+    private long yAxisMin;
+    /** Difference between two adjacent numbers on the y axis. */
+    private long yAxisStep = 1;
+    /** Number of intervals between numbers on the y axis. */
+    private int yIntervals = 1;
+
+    /** Number of computed x axis ticks. */
+    private int tickCount;
+    /** Number drawn at each tick. */
+    private int[] tickValue = new int[0];
+    /** X coordinate of the number drawn at each tick. */
+    private int[] tickX = new int[0];
+    /** X coordinate of the vertical line drawn after each tick. */
+    private int[] tickLineX = new int[0];
+
+    /** Number of computed bar rectangles. */
+    private int barCount;
+    /** Index after the last bar rectangle of each series. */
+    private int[] seriesEnd = new int[0];
+    /** Width of each bar rectangle. */
+    private int barWidth;
+    /** X coordinates of bar rectangles. */
+    private int[] barX = new int[0];
+    /** Y coordinates of bar rectangles. */
+    private int[] barY = new int[0];
+    /** Heights of bar rectangles. */
+    private int[] barHeight = new int[0];
+
+    /** Image with axes, their labels, numbers and grid lines. */
+    private BufferedImage axesLayer;
+    /** Flag that indicates whether the axes layer is up to date. */
+    private boolean axesLayerValid;
+    /** Image with bars. */
+    private BufferedImage barsLayer;
+    /** Flag that indicates whether the bars layer is up to date. */
+    private boolean barsLayerValid;
+
+    /** Statistics of painting, {@code null} if they aren't collected. */
+    private PaintStatistics paintStatistics;
+    /** Flag that indicates whether the debug overlay is drawn. */
+    private boolean debugOverlayVisible;
+
+    /** Listener which schedules a repaint when chart values change. */
+    private final BarChartListener chartListener;
+    /** Flag that indicates whether a repaint is already scheduled. */
+    private final AtomicBoolean repaintScheduled = new AtomicBoolean();
+    /** Timer which repaints the component after chart values change. */
+    private final Timer repaintTimer;
+
     /**
      * Constructs a new {@code BarChartComponent} object with specified
      * {@link BarChart} data model.
@@ -69,28 +248,621 @@ public class BarChartComponent extends JComponent {
 
         this.barChart = barChart;
 
-        this.xAxisLabel = new AttributedString(barChart.getXAxisLabel());
-        this.yAxisLabel = new AttributedString(barChart.getYAxisLabel());
+        this.yAxisStart = new Point();
+        this.yAxisEnd = new Point();
+        this.xAxisStart = new Point();
+        this.xAxisEnd = new Point();
+
+        this.repaintTimer = new Timer(FRAME_DELAY, e -> {
+            repaintScheduled.set(false);
+            repaint();
+        });
+        this.repaintTimer.setRepeats(false);
+
+        this.chartListener = chart -> {
+            if (repaintScheduled.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(repaintTimer::start);
+            }
+        };
+
+        ViewportHandler viewportHandler = new ViewportHandler();
+        addMouseListener(viewportHandler);
+        addMouseMotionListener(viewportHandler);
+        addMouseWheelListener(viewportHandler);
+    }
+
+    /**
+     * Returns the bar chart data model.
+     * 
+     * @return the bar chart data model
+     */
+    public BarChart getBarChart() {
+        return barChart;
+    }
+
+    /**
+     * Sets the bar chart data model. Images and arrays used for painting are
+     * kept, so one component can be reused for painting many charts.
+     * 
+     * @param barChart
+     *            bar chart data model
+     */
+    public void setBarChart(BarChart barChart) {
+        if (barChart == null)
+            throw new NullPointerException("Bar chart parameter cannot be a null reference!");
+
+        if (isDisplayable()) {
+            this.barChart.removeBarChartListener(chartListener);
+            barChart.addBarChartListener(chartListener);
+        }
+
+        this.barChart = barChart;
+        invalidateGeometry();
+        repaint();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        barChart.addBarChartListener(chartListener);
+    }
+
+    @Override
+    public void removeNotify() {
+        barChart.removeBarChartListener(chartListener);
+        repaintTimer.stop();
+        repaintScheduled.set(false);
+        super.removeNotify();
+    }
+
+    /**
+     * Returns the level of detail used when there are more x values than
+     * pixels on the x axis.
+     * 
+     * @return the level of detail
+     */
+    public LevelOfDetail getLevelOfDetail() {
+        return levelOfDetail;
+    }
+
+    /**
+     * Sets the level of detail used when there are more x values than pixels
+     * on the x axis.
+     * 
+     * @param levelOfDetail
+     *            the level of detail
+     */
+    public void setLevelOfDetail(LevelOfDetail levelOfDetail) {
+        if (levelOfDetail == null)
+            throw new NullPointerException("Level of detail cannot be a null reference!");
+
+        this.levelOfDetail = levelOfDetail;
+        invalidateGeometry();
+        repaint();
+    }
+
+    /**
+     * Returns the way bars are placed along the x axis.
+     * 
+     * @return the x axis mode
+     */
+    public XAxisMode getXAxisMode() {
+        return xAxisMode;
+    }
+
+    /**
+     * Sets the way bars are placed along the x axis.
+     * 
+     * @param xAxisMode
+     *            the x axis mode
+     */
+    public void setXAxisMode(XAxisMode xAxisMode) {
+        if (xAxisMode == null)
+            throw new NullPointerException("X axis mode cannot be a null reference!");
+
+        this.xAxisMode = xAxisMode;
+        invalidateGeometry();
+        repaint();
+    }
+
+    /**
+     * Returns the way bars of more than one series are drawn.
+     * 
+     * @return the series mode
+     */
+    public SeriesMode getSeriesMode() {
+        return seriesMode;
+    }
+
+    /**
+     * Sets the way bars of more than one series are drawn.
+     * 
+     * @param seriesMode
+     *            the series mode
+     */
+    public void setSeriesMode(SeriesMode seriesMode) {
+        if (seriesMode == null)
+            throw new NullPointerException("Series mode cannot be a null reference!");
+
+        this.seriesMode = seriesMode;
+        invalidateGeometry();
+        repaint();
+    }
+
+    /**
+     * Returns the colors of series.
+     * 
+     * @return the colors of series
+     */
+    public Color[] getSeriesColors() {
+        return seriesColors.clone();
+    }
+
+    /**
+     * Sets the colors of series. If there are more series than colors, colors
+     * are used again from the start.
+     * 
+     * @param seriesColors
+     *            the colors of series
+     * @throws IllegalArgumentException
+     *             if there are no colors
+     */
+    public void setSeriesColors(Color... seriesColors) {
+        if (seriesColors == null)
+            throw new NullPointerException("Series colors cannot be a null reference!");
+
+        if (seriesColors.length == 0)
+            throw new IllegalArgumentException("There must be at least one series color!");
+
+        for (Color color : seriesColors) {
+            if (color == null)
+                throw new NullPointerException("Series color cannot be a null reference!");
+        }
+
+        this.seriesColors = seriesColors.clone();
+        barsLayerValid = false;
+        repaint();
+    }
+
+    /**
+     * Checks if the y range is computed from the visible values.
+     * 
+     * @return {@code true} if the y range is computed; {@code false} if the
+     *         chart's minimum and maximum y values are used
+     */
+    public boolean isYAxisAutoRange() {
+        return yAxisAutoRange;
+    }
+
+    /**
+     * Sets whether the y range is computed from the visible values instead of
+     * using the chart's minimum, maximum and difference of y values. The range
+     * always contains zero, and the difference between two adjacent numbers
+     * is 1, 2 or 5 times a power of ten.
+     * 
+     * @param yAxisAutoRange
+     *            {@code true} if the y range should be computed
+     */
+    public void setYAxisAutoRange(boolean yAxisAutoRange) {
+        this.yAxisAutoRange = yAxisAutoRange;
+        invalidateGeometry();
+        repaint();
+    }
+
+    /**
+     * Returns the statistics of painting.
+     * 
+     * @return the statistics, {@code null} if they aren't collected
+     */
+    public PaintStatistics getPaintStatistics() {
+        return paintStatistics;
+    }
+
+    /**
+     * Sets the statistics which will record the durations of painting. When
+     * statistics aren't set nothing is measured, so painting costs the same
+     * as without statistics.
+     * 
+     * @param paintStatistics
+     *            the statistics, {@code null} to stop collecting them
+     */
+    public void setPaintStatistics(PaintStatistics paintStatistics) {
+        this.paintStatistics = paintStatistics;
+
+        if (paintStatistics == null) {
+            debugOverlayVisible = false;
+        }
+        repaint();
+    }
+
+    /**
+     * Checks if the debug overlay with the durations of painting is drawn.
+     * 
+     * @return {@code true} if the debug overlay is drawn; {@code false}
+     *         otherwise
+     */
+    public boolean isDebugOverlayVisible() {
+        return debugOverlayVisible;
+    }
+
+    /**
+     * Sets whether the debug overlay with the durations of painting is drawn
+     * in the top left corner. Showing the overlay starts collecting the
+     * statistics if they aren't collected already.
+     * 
+     * @param debugOverlayVisible
+     *            {@code true} if the debug overlay should be drawn
+     */
+    public void setDebugOverlayVisible(boolean debugOverlayVisible) {
+        if (debugOverlayVisible && paintStatistics == null) {
+            paintStatistics = new PaintStatistics();
+        }
+
+        this.debugOverlayVisible = debugOverlayVisible;
+        repaint();
+    }
+
+    /**
+     * Returns the cache of glyphs of axis labels and numbers.
+     * 
+     * @return the cache of glyphs
+     */
+    GlyphCache getGlyphCache() {
+        return glyphs;
+    }
+
+    /**
+     * Returns the start of the viewport as a fraction of the whole x range.
+     * 
+     * @return the start of the viewport, between 0 and 1
+     */
+    public double getViewportStart() {
+        return viewportStart;
+    }
+
+    /**
+     * Returns the end of the viewport as a fraction of the whole x range.
+     * 
+     * @return the end of the viewport, between 0 and 1
+     */
+    public double getViewportEnd() {
+        return viewportEnd;
+    }
+
+    /**
+     * Sets the viewport to specified part of the whole x range. The viewport
+     * always contains at least one x value or bar.
+     * 
+     * @param start
+     *            the start of the viewport as a fraction of the whole x range
+     * @param end
+     *            the end of the viewport as a fraction of the whole x range
+     * @throws IllegalArgumentException
+     *             if {@code start} isn't smaller than {@code end} or they
+     *             aren't between 0 and 1
+     */
+    public void setViewport(double start, double end) {
+        if (!(start >= 0 && start < end && end <= 1))
+            throw new IllegalArgumentException("Invalid viewport: [" + start + ", " + end + "]!");
 
-        this.xAxisLabel.addAttribute(TextAttribute.FONT, FONT);
-        this.yAxisLabel.addAttribute(TextAttribute.FONT, FONT);
+        viewportStart = start;
+        viewportEnd = end;
+        invalidateGeometry();
+        repaint();
+    }
+
+    /**
+     * Zooms the viewport by specified factor keeping the x value at specified
+     * position in place.
+     * 
+     * @param factor
+     *            factor the viewport width is multiplied by, smaller than 1
+     *            zooms in
+     * @param anchor
+     *            position of the fixed x value as a fraction of the viewport
+     */
+    public void zoom(double factor, double anchor) {
+        if (!(factor > 0))
+            throw new IllegalArgumentException("Zoom factor must be positive: " + factor + "!");
+
+        double width = viewportEnd - viewportStart;
+        double newWidth = Math.max(Math.ulp(1.0), Math.min(1, width * factor));
+        double fixed = viewportStart + Math.max(0, Math.min(1, anchor)) * width;
+        double start = fixed - (fixed - viewportStart) * newWidth / width;
+
+        start = Math.max(0, Math.min(1 - newWidth, start));
+        setViewport(start, Math.min(1, start + newWidth));
+    }
+
+    /**
+     * Moves the viewport by specified amount.
+     * 
+     * @param amount
+     *            the amount as a fraction of the viewport width, positive
+     *            moves towards bigger x values
+     */
+    public void pan(double amount) {
+        double width = viewportEnd - viewportStart;
+        double start = Math.max(0, Math.min(1 - width, viewportStart + amount * width));
+
+        setViewport(start, Math.min(1, start + width));
+    }
+
+    /**
+     * Shows the whole x range.
+     */
+    public void resetViewport() {
+        setViewport(0, 1);
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        getAxisDimensions();
-        drawYAxis(g);
-        drawXAxis(g);
-
-        for (XYValue value : barChart.getValues()) {
-            if (value.getY() >= 0) {
-                drawPositiveBar(g, value);
-            } else {
-                drawNegativeBar(g, value);
+        int width = getWidth();
+        int height = getHeight();
+
+        if (width <= 0 || height <= 0)
+            return;
+
+        PaintStatistics statistics = paintStatistics;
+        long frameStart = now(statistics);
+
+        if (updateGeometry()) {
+            lap(statistics, PaintPhase.GEOMETRY, frameStart);
+        }
+
+        Graphics2D g2d = (Graphics2D) g;
+        AffineTransform transform = g2d.getTransform();
+        int layerWidth = (int) Math.ceil(width * transform.getScaleX());
+        int layerHeight = (int) Math.ceil(height * transform.getScaleY());
+
+        if (!axesLayerValid || !hasSize(axesLayer, layerWidth, layerHeight)) {
+            long time = now(statistics);
+            axesLayer = prepareLayer(axesLayer, layerWidth, layerHeight);
+
+            Graphics2D layer = createLayerGraphics(axesLayer, g2d);
+            drawAxes(layer);
+            time = lap(statistics, PaintPhase.AXES, time);
+            drawLabels(layer);
+            time = lap(statistics, PaintPhase.LABELS, time);
+            drawGrid(layer);
+            lap(statistics, PaintPhase.GRID, time);
+            layer.dispose();
+
+            axesLayerValid = true;
+        }
+
+        if (!barsLayerValid || !hasSize(barsLayer, layerWidth, layerHeight)) {
+            long time = now(statistics);
+            barsLayer = prepareLayer(barsLayer, layerWidth, layerHeight);
+
+            Graphics2D layer = createLayerGraphics(barsLayer, g2d);
+            drawBars(layer);
+            layer.dispose();
+            lap(statistics, PaintPhase.BARS, time);
+
+            barsLayerValid = true;
+        }
+
+        g.drawImage(axesLayer, 0, 0, width, height, null);
+        g.drawImage(barsLayer, 0, 0, width, height, null);
+
+        if (statistics != null) {
+            statistics.recordFrame(System.nanoTime() - frameStart);
+
+            if (debugOverlayVisible) {
+                drawDebugOverlay(g, statistics);
             }
         }
     }
 
+    /**
+     * Returns the current time if statistics are collected.
+     * 
+     * @param statistics
+     *            the statistics, {@code null} if they aren't collected
+     * @return the current time in nanoseconds, 0 if statistics aren't
+     *         collected
+     */
+    private static long now(PaintStatistics statistics) {
+        return statistics == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Records the time since specified start as the duration of specified
+     * phase if statistics are collected.
+     * 
+     * @param statistics
+     *            the statistics, {@code null} if they aren't collected
+     * @param phase
+     *            the phase
+     * @param start
+     *            time when the phase started in nanoseconds
+     * @return the current time in nanoseconds, 0 if statistics aren't
+     *         collected
+     */
+    private static long lap(PaintStatistics statistics, PaintPhase phase, long start) {
+        if (statistics == null)
+            return 0;
+
+        long time = System.nanoTime();
+        statistics.recordPhase(phase, time - start);
+        return time;
+    }
+
+    /**
+     * Draws the frame and phase durations over the chart.
+     * 
+     * @param g
+     *            the {@code Graphics} object to paint
+     * @param statistics
+     *            the statistics
+     */
+    private static void drawDebugOverlay(Graphics g, PaintStatistics statistics) {
+        LatencyHistogram frames = statistics.getFrameHistogram();
+
+        String[] lines = new String[PaintPhase.values().length + 2];
+        lines[0] = String.format(
+                "frames %d, dropped %d",
+                statistics.getFrameCount(),
+                statistics.getDroppedFrameCount());
+        lines[1] = overlayLine("FRAME", frames);
+        for (PaintPhase phase : PaintPhase.values()) {
+            lines[phase.ordinal() + 2] = overlayLine(phase.name(), statistics.getPhaseHistogram(phase));
+        }
+
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setFont(OVERLAY_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, fm.stringWidth(line));
+        }
+
+        g2d.setColor(OVERLAY_BACKGROUND);
+        g2d.fillRect(0, 0, width + 2 * OVERLAY_PADDING, lines.length * fm.getHeight() + 2 * OVERLAY_PADDING);
+
+        g2d.setColor(Color.BLACK);
+        int y = OVERLAY_PADDING + fm.getAscent();
+        for (String line : lines) {
+            g2d.drawString(line, OVERLAY_PADDING, y);
+            y += fm.getHeight();
+        }
+
+        g2d.dispose();
+    }
+
+    /**
+     * Returns one line of the debug overlay with the median, 99th percentile
+     * and maximum of specified durations.
+     * 
+     * @param name
+     *            name of the durations
+     * @param histogram
+     *            the durations in nanoseconds
+     * @return the line of the debug overlay
+     */
+    private static String overlayLine(String name, LatencyHistogram histogram) {
+        return String.format(
+                "%-9s p50 %7.3f  p99 %7.3f  max %7.3f ms",
+                name,
+                histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getMax() / 1e6);
+    }
+
+    /**
+     * Checks if specified layer exists and has specified size.
+     * 
+     * @param layer
+     *            the layer
+     * @param width
+     *            width of the layer in pixels
+     * @param height
+     *            height of the layer in pixels
+     * @return {@code true} if layer has specified size; {@code false}
+     *         otherwise
+     */
+    private static boolean hasSize(BufferedImage layer, int width, int height) {
+        return layer != null && layer.getWidth() == width && layer.getHeight() == height;
+    }
+
+    /**
+     * Returns a transparent layer of specified size. Specified layer is reused
+     * if it has the right size.
+     * 
+     * @param layer
+     *            the previous layer, can be {@code null}
+     * @param width
+     *            width of the layer in pixels
+     * @param height
+     *            height of the layer in pixels
+     * @return a transparent layer of specified size
+     */
+    private static BufferedImage prepareLayer(BufferedImage layer, int width, int height) {
+        if (!hasSize(layer, width, height))
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        Graphics2D g = layer.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+
+        return layer;
+    }
+
+    /**
+     * Returns the {@code Graphics2D} object for drawing to specified layer
+     * with the same scale, color, font and rendering hints as the specified
+     * component graphics.
+     * 
+     * @param layer
+     *            the layer
+     * @param g
+     *            the {@code Graphics} object of the component
+     * @return the {@code Graphics2D} object for drawing to the layer
+     */
+    private static Graphics2D createLayerGraphics(BufferedImage layer, Graphics2D g) {
+        Graphics2D layerGraphics = layer.createGraphics();
+        AffineTransform transform = g.getTransform();
+
+        layerGraphics.setRenderingHints(g.getRenderingHints());
+        layerGraphics.scale(transform.getScaleX(), transform.getScaleY());
+        layerGraphics.setColor(g.getColor());
+        layerGraphics.setFont(g.getFont());
+
+        return layerGraphics;
+    }
+
+    /**
+     * Marks the geometry as outdated, so it will be computed again on the next
+     * paint.
+     */
+    private void invalidateGeometry() {
+        geometryWidth = -1;
+        geometryHeight = -1;
+    }
+
+    /**
+     * Computes the axis dimensions and bar rectangles if the size of the
+     * component or chart values changed since they were last computed.
+     * 
+     * @return {@code true} if geometry was computed; {@code false} if it was
+     *         up to date
+     */
+    private boolean updateGeometry() {
+        int width = getWidth();
+        int height = getHeight();
+        boolean resized = width != geometryWidth || height != geometryHeight;
+
+        if (!resized && barChart.getModCount() == geometryModCount)
+            return false;
+
+        if (resized) {
+            getAxisDimensions();
+        }
+
+        boolean ticksChanged;
+
+        synchronized (barChart) {
+            geometryModCount = barChart.getModCount();
+            computeViewport();
+            ticksChanged = computeYAxis();
+            computeBars();
+            ticksChanged |= computeTicks();
+        }
+
+        geometryWidth = width;
+        geometryHeight = height;
+        barsLayerValid = false;
+
+        if (resized || ticksChanged) {
+            axesLayerValid = false;
+        }
+
+        return true;
+    }
+
     /**
      * Calculates the starting and ending points of x and y axis as well as
      * their length.
@@ -99,28 +871,49 @@ public class BarChartComponent extends JComponent {
         int width = getWidth();
         int height = getHeight();
 
-        yAxisStart = new Point(3 * GAP, height - 3 * GAP);
-        yAxisEnd = new Point(3 * GAP, (int) Math.floor(0.1 * height));
+        yAxisStart.setLocation(3 * GAP, height - 3 * GAP);
+        yAxisEnd.setLocation(3 * GAP, (int) Math.floor(0.1 * height));
 
-        xAxisStart = new Point(3 * GAP, height - 3 * GAP);
-        xAxisEnd = new Point((int) Math.floor(0.9 * width), height - 3 * GAP);
+        xAxisStart.setLocation(3 * GAP, height - 3 * GAP);
+        xAxisEnd.setLocation((int) Math.floor(0.9 * width), height - 3 * GAP);
 
         xAxisLength = xAxisEnd.x - xAxisStart.x;
         yAxisLength = yAxisStart.y - yAxisEnd.y;
     }
 
     /**
-     * Draws the y axis.
+     * Draws the x and y axis.
      * 
      * @param g
      *            the {@code Graphics} object to paint
      */
-    private void drawYAxis(Graphics g) {
+    private void drawAxes(Graphics g) {
         g.drawLine(yAxisStart.x, yAxisStart.y, yAxisEnd.x, yAxisEnd.y);
+        g.drawLine(xAxisStart.x, xAxisStart.y, xAxisEnd.x, xAxisEnd.y);
+    }
 
-        drawYAxisLabel(g);
+    /**
+     * Draws the horizontal and vertical grid lines.
+     * 
+     * @param g
+     *            the {@code Graphics} object to paint
+     */
+    private void drawGrid(Graphics g) {
+        drawYLines(g);
+        drawXLines(g);
+    }
 
+    /**
+     * Draws the axis labels and numbers.
+     * 
+     * @param g
+     *            the {@code Graphics} object to paint
+     */
+    private void drawLabels(Graphics g) {
+        drawYAxisLabel(g);
         drawYAxisNumbers(g);
+        drawXAxisLabel(g);
+        drawXAxisNumbers(g);
     }
 
     /**
@@ -133,47 +926,47 @@ public class BarChartComponent extends JComponent {
         Graphics2D g2d = (Graphics2D) g;
         AffineTransform defaultAt = g2d.getTransform();
 
-        AffineTransform at = new AffineTransform();
+        AffineTransform at = new AffineTransform(defaultAt);
         at.rotate(-Math.PI / 2);
         g2d.setTransform(at);
 
-        FontMetrics metrics = g.getFontMetrics(FONT);
-        g2d.drawString(
-                yAxisLabel.getIterator(),
-                -getHeight() + (yAxisLength + metrics.charWidth(yAxisLabel.toString().length())) / 2,
-                GAP);
+        String label = barChart.getYAxisLabel();
+        float start = yAxisStart.y - (yAxisLength - glyphs.getLabelWidth(g2d, label)) / 2;
+
+        glyphs.drawLabel(g2d, label, -start, GAP);
 
         g2d.setTransform(defaultAt);
     }
 
     /**
-     * Draws the y axis numbers and horizontal lines.
+     * Draws the y axis numbers.
      * 
      * @param g
      *            the {@code Graphics} object to paint
      */
     private void drawYAxisNumbers(Graphics g) {
-        int yMin = barChart.getYMin();
-        int yMax = barChart.getYMax();
-        int yDiff = barChart.getYDiff();
-
-        int valueDiff = -yAxisLength / ((yMax - yMin) / yDiff);
-        int index = 0;
-        for (int i = yMin; i <= yMax; i += yDiff) {
-            AttributedString num = new AttributedString("" + i);
-            num.addAttribute(TextAttribute.FONT, FONT);
-            FontMetrics metrics = g.getFontMetrics(FONT);
-
-            g.drawString(
-                    num.getIterator(),
-                    2 * GAP,
-                    yAxisStart.y + index * valueDiff - valueDiff / 2 - metrics.getAscent() / 2);
-
-            index++;
-
-            if (i != yMax) {
-                drawYLine(g, yAxisStart.x, yAxisStart.y + index * valueDiff);
-            }
+        Graphics2D g2d = (Graphics2D) g;
+        int ascent = glyphs.getAscent(g2d);
+
+        int valueDiff = -yAxisLength / yIntervals;
+        int offset = Math.min(-(valueDiff / 2), ascent / 2) - ascent / 2;
+        for (int index = 0; index <= yIntervals; index++) {
+            int number = (int) (yAxisMin + index * yAxisStep);
+
+            glyphs.drawNumber(g2d, number, 2 * GAP, yAxisStart.y + index * valueDiff + offset);
+        }
+    }
+
+    /**
+     * Draws the horizontal lines.
+     * 
+     * @param g
+     *            the {@code Graphics} object to paint
+     */
+    private void drawYLines(Graphics g) {
+        int valueDiff = -yAxisLength / yIntervals;
+        for (int index = 1; index <= yIntervals; index++) {
+            drawYLine(g, yAxisStart.x, yAxisStart.y + index * valueDiff);
         }
     }
 
@@ -194,48 +987,44 @@ public class BarChartComponent extends JComponent {
     }
 
     /**
-     * Draws the x axis.
+     * Draws the x axis label.
      * 
      * @param g
      *            the {@code Graphics} object to paint
      */
-    private void drawXAxis(Graphics g) {
-        g.drawLine(xAxisStart.x, xAxisStart.y, xAxisEnd.x, xAxisEnd.y);
-
-        FontMetrics metrics = g.getFontMetrics(FONT);
-
-        int x = xAxisStart.x + (xAxisLength - metrics.stringWidth(xAxisLabel.toString())) / 2;
-        int y = getHeight() - GAP + metrics.getAscent();
+    private void drawXAxisLabel(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        String label = barChart.getXAxisLabel();
 
-        g.drawString(xAxisLabel.getIterator(), x, y);
+        float x = xAxisStart.x + (xAxisLength - glyphs.getLabelWidth(g2d, label)) / 2;
+        int y = getHeight() - GAP + glyphs.getAscent(g2d);
 
-        drawXAxisNumbers(g);
+        glyphs.drawLabel(g2d, label, x, y);
     }
 
     /**
-     * Draws the x axis numbers and horizontal lines.
+     * Draws the x axis numbers.
      * 
      * @param g
      *            the {@code Graphics} object to paint
      */
     private void drawXAxisNumbers(Graphics g) {
-        List<XYValue> values = barChart.getValues();
-
-        int min = values.get(0).getX();
-        int max = values.get(values.size() - 1).getX();
-
-        int valueDiff = xAxisLength / (max - min + 1);
-
-        for (int i = min; i <= max; i++) {
-            AttributedString num = new AttributedString("" + i);
-            num.addAttribute(TextAttribute.FONT, FONT);
-
-            int index = i - min;
+        Graphics2D g2d = (Graphics2D) g;
 
-            g.drawString(num.getIterator(), xAxisStart.x + index * valueDiff + valueDiff / 2, xAxisStart.y + GAP);
-            index++;
+        for (int i = 0; i < tickCount; i++) {
+            glyphs.drawNumber(g2d, tickValue[i], tickX[i], xAxisStart.y + GAP);
+        }
+    }
 
-            drawXLine(g, xAxisStart.x + index * valueDiff, xAxisStart.y);
+    /**
+     * Draws the vertical lines.
+     * 
+     * @param g
+     *            the {@code Graphics} object to paint
+     */
+    private void drawXLines(Graphics g) {
+        for (int i = 0; i < tickCount; i++) {
+            drawXLine(g, tickLineX[i], xAxisStart.y);
         }
     }
 
@@ -256,76 +1045,627 @@ public class BarChartComponent extends JComponent {
     }
 
     /**
-     * Draws bars if value has positive Y.
-     * <p>
-     * Using with negative Y is not recommended.
+     * Draws all computed bar rectangles, series by series, so the color is
+     * changed only once for each series.
      * 
      * @param g
      *            the {@code Graphics} object to paint
+     */
+    private void drawBars(Graphics g) {
+        int start = 0;
+
+        for (int s = 0; s < barChart.getSeriesCount() && start < barCount; s++) {
+            g.setColor(seriesColors[s % seriesColors.length]);
+
+            for (int i = start; i < seriesEnd[s]; i++) {
+                g.fillRect(barX[i], barY[i], barWidth, barHeight[i]);
+            }
+
+            start = seriesEnd[s];
+        }
+
+        g.setColor(Color.BLACK);
+    }
+
+    /**
+     * Checks if bars of more than one series are drawn on top of each other.
+     * 
+     * @param seriesCount
+     *            the number of series
+     * @return {@code true} if bars are stacked; {@code false} otherwise
+     */
+    private boolean isStacked(int seriesCount) {
+        return seriesMode == SeriesMode.STACKED && seriesCount > 1;
+    }
+
+    /**
+     * Computes bar rectangles, one for each value of each series or, if bars
+     * would be narrower than one pixel, one for each pixel column of each
+     * series as specified by the level of detail.
+     */
+    private void computeBars() {
+        int seriesCount = barChart.getSeriesCount();
+        barCount = 0;
+
+        if (seriesEnd.length < seriesCount) {
+            seriesEnd = new int[seriesCount];
+        }
+        Arrays.fill(seriesEnd, 0);
+
+        if (slots == 0 || xAxisLength <= 0)
+            return;
+
+        boolean stacked = isStacked(seriesCount);
+        barWidth = stacked ? xValueDiff - 1 : (xValueDiff - 1) / seriesCount;
+
+        if (levelOfDetail != LevelOfDetail.OFF && (slots > xAxisLength || barWidth <= 0)) {
+            computeBuckets();
+            return;
+        }
+
+        if (barWidth <= 0)
+            return;
+
+        int bars = toIndex - fromIndex;
+        ensureBarCapacity(seriesCount * bars);
+        if (stacked) {
+            ensureStackCapacity(bars);
+        }
+
+        long yMin = yAxisMin;
+        double yDiff = yAxisStep;
+
+        int yValueDiff = yAxisLength / yIntervals;
+
+        for (int s = 0; s < seriesCount; s++) {
+            int offset = stacked ? barWidth : (seriesCount - s) * barWidth;
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                int y = barChart.getY(s, i);
+
+                barX[barCount] = (int) (xAxisStart.x + (getSlot(i) + 1) * xValueDiff - offset);
+
+                if (stacked) {
+                    stackBar(barCount, i - fromIndex, y);
+                } else if (y >= 0) {
+                    int height = (int) (yValueDiff * ((y - yMin) / yDiff) - 1);
+
+                    barY[barCount] = xAxisStart.y - height;
+                    barHeight[barCount] = (int) (height + yMin * yValueDiff / yDiff);
+                } else {
+                    barY[barCount] = (int) (xAxisStart.y - Math.abs(yMin) * yValueDiff / yDiff);
+                    barHeight[barCount] = (int) (yValueDiff * (Math.abs(y) / yDiff) - 1);
+                }
+
+                barCount++;
+            }
+
+            seriesEnd[s] = barCount;
+        }
+    }
+
+    /**
+     * Computes the y coordinate and height of specified bar rectangle which
+     * is stacked on top of the previous series, above zero for positive values
+     * and below zero for negative values.
+     * 
+     * @param bar
+     *            index of the bar rectangle
+     * @param stack
+     *            index of the stack the bar belongs to
+     * @param y
+     *            y value of the bar
+     */
+    private void stackBar(int bar, int stack, long y) {
+        long base;
+        if (y >= 0) {
+            base = stackPositive[stack];
+            stackPositive[stack] += y;
+        } else {
+            base = stackNegative[stack];
+            stackNegative[stack] += y;
+        }
+
+        int from = valueToY(clampY(base));
+        int to = valueToY(clampY(base + y));
+
+        barY[bar] = Math.min(from, to);
+        barHeight[bar] = Math.abs(from - to);
+    }
+
+    /**
+     * Returns specified y value limited to the range of the y axis.
+     * 
      * @param value
-     *            x and y pair
+     *            the y value
+     * @return the y value limited to the range of the y axis
      */
-    private void drawPositiveBar(Graphics g, XYValue value) {
-        g.setColor(Color.ORANGE);
+    private long clampY(long value) {
+        return Math.max(yAxisMin, Math.min(getYAxisMax(), value));
+    }
 
-        int yMin = barChart.getYMin();
-        int yMax = barChart.getYMax();
-        double yDiff = barChart.getYDiff();
+    /**
+     * Returns the y value at the end of the y axis.
+     * 
+     * @return the y value at the end of the y axis
+     */
+    private long getYAxisMax() {
+        return yAxisMin + yIntervals * yAxisStep;
+    }
 
-        List<XYValue> values = barChart.getValues();
+    /**
+     * Makes sure that stack arrays can hold specified number of stacks and
+     * resets the stacks to zero.
+     * 
+     * @param capacity
+     *            the number of stacks
+     */
+    private void ensureStackCapacity(int capacity) {
+        if (stackPositive.length < capacity) {
+            stackPositive = new long[capacity];
+            stackNegative = new long[capacity];
+        } else {
+            Arrays.fill(stackPositive, 0, capacity, 0);
+            Arrays.fill(stackNegative, 0, capacity, 0);
+        }
+    }
 
-        int xMin = values.get(0).getX();
-        int xMax = values.get(values.size() - 1).getX();
+    /**
+     * Computes the visible slots, the range of x values and the range of bar
+     * indexes inside the viewport.
+     */
+    private void computeViewport() {
+        int size = barChart.getSize();
 
-        int xValueDiff = xAxisLength / (xMax - xMin + 1);
-        int yValueDiff = (int) (yAxisLength / ((yMax - yMin) / yDiff));
+        if (size == 0) {
+            xMin = 0;
+            xMax = -1;
+            fromIndex = 0;
+            toIndex = 0;
+            firstSlot = 0;
+            slots = 0;
+            xValueDiff = 0;
+            return;
+        }
 
-        int width = xValueDiff - 1;
-        int height = (int) (yValueDiff * ((value.getY() - yMin) / yDiff) - 1);
+        int first = barChart.getX(0);
+        long allSlots = xAxisMode == XAxisMode.CATEGORICAL ? size : (long) barChart.getX(size - 1) - first + 1;
 
-        g.fillRect(
-                xAxisStart.x + (value.getX() - xMin + 1) * xValueDiff - width,
-                xAxisStart.y - height,
-                width,
-                (int) (height + yMin * yValueDiff / yDiff));
+        firstSlot = Math.min(allSlots - 1, (long) Math.floor(viewportStart * allSlots));
+        long lastSlot = Math.max(firstSlot + 1, Math.min(allSlots, (long) Math.ceil(viewportEnd * allSlots)));
+        slots = lastSlot - firstSlot;
 
-        g.setColor(Color.BLACK);
+        if (xAxisMode == XAxisMode.CATEGORICAL) {
+            fromIndex = (int) firstSlot;
+            toIndex = (int) lastSlot;
+            xMin = barChart.getX(fromIndex);
+            xMax = barChart.getX(toIndex - 1);
+        } else {
+            xMin = (int) (first + firstSlot);
+            xMax = (int) (first + lastSlot - 1);
+            fromIndex = barChart.lowerBound(xMin);
+            toIndex = barChart.upperBound(xMax);
+        }
+
+        xValueDiff = (int) (xAxisLength / slots);
     }
 
     /**
-     * Draws bars if value has negative Y.
+     * Computes the y value at the start of the y axis, the difference between
+     * two adjacent numbers and the number of intervals between them.
      * <p>
-     * Using with non-negative Y is not recommended.
+     * The difference is the smallest one which keeps numbers at least
+     * {@value #Y_NUMBER_DISTANCE} pixels apart, so the number of grid lines
+     * is limited by the length of the axis and not by the range of y values.
      * 
-     * @param g
-     *            the {@code Graphics} object to paint
+     * @return {@code true} if the y axis changed since it was last computed;
+     *         {@code false} otherwise
+     */
+    private boolean computeYAxis() {
+        long maxIntervals = Math.max(1, yAxisLength / Y_NUMBER_DISTANCE);
+        long min;
+        long max;
+        long unit;
+
+        if (yAxisAutoRange) {
+            long[] range = computeYRange();
+            min = range[0];
+            max = range[1];
+            unit = 1;
+        } else {
+            min = barChart.getYMin();
+            max = barChart.getYMax();
+            unit = Math.max(1, barChart.getYDiff());
+        }
+
+        long step = unit * roundStep(ceilDiv(ceilDiv(Math.max(1, max - min), unit), maxIntervals));
+        long start = yAxisAutoRange ? Math.floorDiv(min, step) * step : min;
+        long intervals = Math.max(1, ceilDiv(max - start, step));
+
+        while (intervals > maxIntervals && step < Integer.MAX_VALUE) {
+            step = unit * roundStep(step / unit + 1);
+            start = yAxisAutoRange ? Math.floorDiv(min, step) * step : min;
+            intervals = Math.max(1, ceilDiv(max - start, step));
+        }
+
+        if (start < Integer.MIN_VALUE) {
+            start += step;
+            intervals--;
+        }
+        while (intervals > 1 && start + intervals * step > Integer.MAX_VALUE) {
+            intervals--;
+        }
+
+        boolean changed = start != yAxisMin || step != yAxisStep || intervals != yIntervals;
+
+        yAxisMin = start;
+        yAxisStep = step;
+        yIntervals = (int) intervals;
+
+        return changed;
+    }
+
+    /**
+     * Computes the smallest and the biggest visible y value, including zero,
+     * in a single pass over the visible values. If bars are stacked, the sums
+     * of positive and negative values of all series are used. Values are
+     * reduced on the calling thread, because it holds the lock of the chart
+     * and shouldn't wait for tasks of a shared pool.
+     * 
+     * @return the smallest and the biggest y value
+     */
+    private long[] computeYRange() {
+        int seriesCount = barChart.getSeriesCount();
+        boolean stacked = isStacked(seriesCount);
+
+        long min = 0;
+        long max = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            long low = 0;
+            long high = 0;
+
+            for (int s = 0; s < seriesCount; s++) {
+                int y = barChart.getY(s, i);
+
+                if (stacked) {
+                    if (y >= 0) {
+                        high += y;
+                    } else {
+                        low += y;
+                    }
+                } else {
+                    low = Math.min(low, y);
+                    high = Math.max(high, y);
+                }
+            }
+
+            min = Math.min(min, low);
+            max = Math.max(max, high);
+        }
+
+        return new long[] { min, max };
+    }
+
+    /**
+     * Divides specified numbers rounding the result up.
+     * 
+     * @param dividend
+     *            the non-negative dividend
+     * @param divisor
+     *            the positive divisor
+     * @return the quotient rounded up
+     */
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    /**
+     * Makes sure that bar rectangle arrays can hold specified number of
+     * rectangles.
+     * 
+     * @param capacity
+     *            the number of rectangles
+     */
+    private void ensureBarCapacity(int capacity) {
+        if (barX.length >= capacity)
+            return;
+
+        barX = new int[capacity];
+        barY = new int[capacity];
+        barHeight = new int[capacity];
+    }
+
+    /**
+     * Returns the slot of the bar at specified index.
+     * 
+     * @param index
+     *            index of the bar
+     * @return the slot of the bar
+     */
+    private long getSlot(int index) {
+        return xAxisMode == XAxisMode.CATEGORICAL ? index - firstSlot : (long) barChart.getX(index) - xMin;
+    }
+
+    /**
+     * Returns the x coordinate where specified slot starts.
+     * 
+     * @param slot
+     *            the slot, can be equal to the number of slots
+     * @return the x coordinate where the slot starts
+     */
+    private int getSlotStart(long slot) {
+        if (xValueDiff > 0)
+            return (int) (xAxisStart.x + slot * xValueDiff);
+
+        return (int) (xAxisStart.x + slot * xAxisLength / slots);
+    }
+
+    /**
+     * Computes the x axis ticks. Only every n-th slot gets a tick, where n is
+     * the smallest step which keeps the widest number from overlapping the
+     * next one, rounded to a round number on a continuous axis. The number of
+     * ticks is therefore limited by the length of the axis.
+     * 
+     * @return {@code true} if ticks changed since they were last computed;
+     *         {@code false} otherwise
+     */
+    private boolean computeTicks() {
+        int count = 0;
+        boolean changed = false;
+
+        if (slots > 0 && xAxisLength > 0) {
+            FontMetrics fm = getFontMetrics(FONT);
+            int numberWidth = Math.max(
+                    fm.stringWidth(Integer.toString(xMin)),
+                    fm.stringWidth(Integer.toString(xMax)));
+
+            double slotWidth = xValueDiff > 0 ? xValueDiff : (double) xAxisLength / slots;
+            long step = Math.max(1, (long) Math.ceil((numberWidth + NUMBER_SPACING) / slotWidth));
+            long first = 0;
+            if (xAxisMode == XAxisMode.CONTINUOUS) {
+                step = roundStep(step);
+                first = Math.floorMod(-(long) xMin, step);
+            }
+
+            for (long slot = first; slot < slots; slot += step) {
+                int value = xAxisMode == XAxisMode.CATEGORICAL
+                        ? barChart.getX((int) (firstSlot + slot))
+                        : (int) (xMin + slot);
+                int start = getSlotStart(slot);
+                int x = start + (getSlotStart(slot + 1) - start) / 2;
+                if (count > 0 && x + numberWidth > getWidth())
+                    break;
+
+                int lineX = getSlotStart(Math.min(slot + step, slots));
+
+                changed |= setTick(count++, value, x, lineX);
+            }
+        }
+
+        changed |= count != tickCount;
+        tickCount = count;
+
+        return changed;
+    }
+
+    /**
+     * Rounds specified step up to the nearest 1, 2 or 5 times a power of ten,
+     * so continuous x axis and the y axis show round numbers.
+     * 
+     * @param step
+     *            the step
+     * @return the rounded step
+     */
+    private static long roundStep(long step) {
+        long power = 1;
+        while (true) {
+            if (step <= power)
+                return power;
+            if (step <= 2 * power)
+                return 2 * power;
+            if (step <= 5 * power)
+                return 5 * power;
+
+            power *= 10;
+        }
+    }
+
+    /**
+     * Stores specified tick at specified index.
+     * 
+     * @param index
+     *            index of the tick
      * @param value
-     *            x and y pair
+     *            number drawn at the tick
+     * @param x
+     *            x coordinate of the number
+     * @param lineX
+     *            x coordinate of the vertical line after the tick
+     * @return {@code true} if the stored tick was different; {@code false}
+     *         otherwise
+     */
+    private boolean setTick(int index, int value, int x, int lineX) {
+        if (index == tickValue.length) {
+            int capacity = Math.max(16, index * 2);
+            tickValue = Arrays.copyOf(tickValue, capacity);
+            tickX = Arrays.copyOf(tickX, capacity);
+            tickLineX = Arrays.copyOf(tickLineX, capacity);
+        }
+
+        boolean changed = index >= tickCount
+                || tickValue[index] != value
+                || tickX[index] != x
+                || tickLineX[index] != lineX;
+
+        tickValue[index] = value;
+        tickX[index] = x;
+        tickLineX[index] = lineX;
+
+        return changed;
+    }
+
+    /**
+     * Aggregates all values of each series into one bucket for each pixel
+     * column of the x axis and computes one bar rectangle for each non-empty
+     * bucket as specified by the level of detail. Buckets of all series are
+     * filled in a single pass over the visible values.
+     * <p>
+     * Grouped bars of more than one series use buckets as wide as the number
+     * of series, and each series is drawn in its own pixel column of the
+     * bucket.
+     * <p>
+     * Stacked bars show the mean of each series if level of detail is
+     * {@link LevelOfDetail#MEAN}, otherwise the value with the biggest
+     * magnitude.
      */
-    private void drawNegativeBar(Graphics g, XYValue value) {
-        g.setColor(Color.ORANGE);
+    private void computeBuckets() {
+        int seriesCount = barChart.getSeriesCount();
+        boolean stacked = isStacked(seriesCount);
+        int group = stacked ? 1 : seriesCount;
+        int length = xAxisLength / group;
+        int capacity = length * seriesCount;
 
-        int yMin = barChart.getYMin();
-        int yMax = barChart.getYMax();
-        double yDiff = barChart.getYDiff();
+        if (length == 0)
+            return;
 
-        List<XYValue> values = barChart.getValues();
+        if (bucketCount == null || bucketCount.length < length || bucketMin.length < capacity) {
+            bucketMin = new int[capacity];
+            bucketMax = new int[capacity];
+            bucketSum = new long[capacity];
+            bucketCount = new int[length];
+        } else {
+            Arrays.fill(bucketCount, 0, length, 0);
+        }
 
-        int xMin = values.get(0).getX();
-        int xMax = values.get(values.size() - 1).getX();
+        for (int i = fromIndex; i < toIndex; i++) {
+            int bucket = (int) (getSlot(i) * length / slots);
+            boolean first = bucketCount[bucket] == 0;
 
-        int xValueDiff = xAxisLength / (xMax - xMin + 1);
-        int yValueDiff = (int) (yAxisLength / ((yMax - yMin) / yDiff));
+            for (int s = 0, index = bucket * seriesCount; s < seriesCount; s++, index++) {
+                int y = barChart.getY(s, i);
 
-        int width = xValueDiff - 1;
-        int height = (int) (yValueDiff * (Math.abs(value.getY()) / yDiff) - 1);
+                if (first) {
+                    bucketMin[index] = y;
+                    bucketMax[index] = y;
+                    bucketSum[index] = y;
+                } else {
+                    bucketMin[index] = Math.min(bucketMin[index], y);
+                    bucketMax[index] = Math.max(bucketMax[index], y);
+                    bucketSum[index] += y;
+                }
+            }
+            bucketCount[bucket]++;
+        }
 
-        g.fillRect(
-                xAxisStart.x + (value.getX() - xMin + 1) * xValueDiff - width,
-                (int) (xAxisStart.y - Math.abs(yMin) * yValueDiff / yDiff),
-                width,
-                (int) (height));
+        long yMin = yAxisMin;
+        long yMax = getYAxisMax();
+        long zero = Math.max(yMin, Math.min(0, yMax));
 
-        g.setColor(Color.BLACK);
+        ensureBarCapacity(capacity);
+        if (stacked) {
+            ensureStackCapacity(length);
+        }
+        barWidth = 1;
+        barCount = 0;
+
+        for (int s = 0; s < seriesCount; s++) {
+            for (int i = 0; i < length; i++) {
+                if (bucketCount[i] == 0)
+                    continue;
+
+                int index = i * seriesCount + s;
+                barX[barCount] = xAxisStart.x + i * group + (stacked ? 0 : s);
+
+                if (stacked) {
+                    long value;
+                    if (levelOfDetail == LevelOfDetail.MEAN) {
+                        value = bucketSum[index] / bucketCount[i];
+                    } else {
+                        value = -(long) bucketMin[index] > bucketMax[index] ? bucketMin[index] : bucketMax[index];
+                    }
+
+                    stackBar(barCount, i, value);
+                } else {
+                    long low;
+                    long high;
+                    if (levelOfDetail == LevelOfDetail.MEAN) {
+                        long mean = bucketSum[index] / bucketCount[i];
+                        low = Math.min(zero, mean);
+                        high = Math.max(zero, mean);
+                    } else {
+                        low = Math.min(zero, bucketMin[index]);
+                        high = Math.max(zero, bucketMax[index]);
+                    }
+
+                    int top = valueToY(Math.min(high, yMax));
+                    int bottom = valueToY(Math.max(low, yMin));
+
+                    barY[barCount] = top;
+                    barHeight[barCount] = Math.max(1, bottom - top);
+                }
+
+                barCount++;
+            }
+
+            seriesEnd[s] = barCount;
+        }
+    }
+
+    /**
+     * Returns the y coordinate of specified y value.
+     * 
+     * @param value
+     *            the y value
+     * @return the y coordinate of specified y value
+     */
+    private int valueToY(long value) {
+        int yValueDiff = yAxisLength / yIntervals;
+
+        return xAxisStart.y - (int) Math.round((value - yAxisMin) * yValueDiff / (double) yAxisStep);
+    }
+
+    /**
+     * {@code ViewportHandler} class zooms the viewport with the mouse wheel,
+     * pans it by dragging the mouse and shows the whole x range on double
+     * click.
+     * 
+     * @author Karlo Vrbić
+     * @version 1.0
+     */
+    private class ViewportHandler extends MouseAdapter {
+
+        /** X coordinate of the mouse at the last drag event. */
+        private int lastX;
+
+        @Override
+        public void mousePressed(MouseEvent e) {
+            lastX = e.getX();
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            if (xAxisLength <= 0)
+                return;
+
+            pan((double) (lastX - e.getX()) / xAxisLength);
+            lastX = e.getX();
+        }
+
+        @Override
+        public void mouseWheelMoved(MouseWheelEvent e) {
+            if (xAxisLength <= 0)
+                return;
+
+            double anchor = (double) (e.getX() - xAxisStart.x) / xAxisLength;
+            zoom(Math.pow(ZOOM_FACTOR, e.getPreciseWheelRotation()), anchor);
+        }
+
+        @Override
+        public void mouseClicked(MouseEvent e) {
+            if (e.getClickCount() == 2) {
+                resetViewport();
+            }
+        }
     }
 }
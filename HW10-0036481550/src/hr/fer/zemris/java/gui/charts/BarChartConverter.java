@@ -0,0 +1,53 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * {@code BarChartConverter} class converts a chart file from the text format
+ * to the binary chart format.
+ * <p>
+ * User needs to provide two command-line arguments: path to the text chart
+ * file and path where the binary chart file will be written.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartLoader
+ * @see BarChartBinaryFormat
+ */
+public class BarChartConverter {
+
+    /**
+     * Starting point of a program.
+     * 
+     * @param args
+     *            Command-line argument
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: BarChartConverter <text chart file> <binary chart file>");
+            System.exit(1);
+        }
+
+        Path source = Paths.get(args[0]);
+        Path destination = Paths.get(args[1]);
+
+        try {
+            long start = System.nanoTime();
+            BarChart chart = BarChartLoader.load(source);
+            BarChartBinaryFormat.write(chart, destination);
+
+            System.out.printf(
+                    "Converted %d values in %.3f s%n",
+                    chart.getSize(),
+                    (System.nanoTime() - start) / 1e9);
+        } catch (IOException e) {
+            System.err.println("Unable to convert the file: " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid chart file: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
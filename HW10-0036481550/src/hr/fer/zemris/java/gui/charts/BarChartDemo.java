@@ -2,11 +2,8 @@ package hr.fer.zemris.java.gui.charts;
 
 import java.awt.BorderLayout;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
 
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -18,7 +15,9 @@ import javax.swing.SwingUtilities;
  * {@link BarChartComponent} class and how they operate.
  * <p>
  * User needs to provide one argument to command-line which tells the program
- * where to find a file containing data about the bar chart.
+ * where to find a file containing data about the bar chart. If the argument
+ * is preceded by {@code --watch}, pairs appended to the file are shown while
+ * the program runs, see {@link BarChartWatcher}.
  * 
  * @author Karlo Vrbić
  * @version 1.0
@@ -30,6 +29,9 @@ public class BarChartDemo extends JFrame {
     /** Serial version UID. */
     private static final long serialVersionUID = 6627621413520831345L;
 
+    /** Command-line option which turns on watching the file. */
+    private static final String WATCH_OPTION = "--watch";
+
     /** Bar chart component. */
     private BarChartComponent component;
 
@@ -77,14 +79,24 @@ public class BarChartDemo extends JFrame {
      *            Command-line argument
      */
     public static void main(String[] args) {
-        if (args.length != 1) {
+        boolean watch = args.length == 2 && args[0].equals(WATCH_OPTION);
+
+        if (args.length != 1 && !watch) {
             System.err.println("You need to pass a parameter indicating a location of a file");
+            System.err.println("Usage: BarChartDemo [" + WATCH_OPTION + "] <chart file>");
             System.exit(1);
         }
 
-        Path path = Paths.get(args[0]);
+        Path path = Paths.get(args[args.length - 1]);
 
-        BarChartComponent comp = getChart(path);
+        BarChartComponent comp;
+        try {
+            comp = watch ? watchChart(path) : getChart(path);
+        } catch (IOException e) {
+            System.err.println("Unable to read the file: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
 
         SwingUtilities.invokeLater(() -> {
             new BarChartDemo(comp, path).setVisible(true);
@@ -98,29 +110,32 @@ public class BarChartDemo extends JFrame {
      * @param path
      *            the path to file
      * @return the {@code BarChartComponent} object from the specified file path
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     * @see BarChartLoader
      */
-    private static BarChartComponent getChart(Path path) {
-        List<String> lines = null;
-        try {
-            lines = Files.readAllLines(path);
-        } catch (IOException ignorable) {
-        }
-
-        String xLabel = lines.get(0);
-        String yLabel = lines.get(1);
-
-        List<XYValue> values = new ArrayList<>();
-        for (String s : lines.get(2).split("\\s+")) {
-            values.add(XYValue.valueOf(s));
-        }
+    private static BarChartComponent getChart(Path path) throws IOException {
+        BarChart chart = BarChartLoader.load(path);
 
-        int yMin = Integer.valueOf(lines.get(3));
-        int yMax = Integer.valueOf(lines.get(4));
-        int yDiff = Integer.valueOf(lines.get(5));
+        return new BarChartComponent(chart);
+    }
 
-        BarChart chart = new BarChart(values, xLabel, yLabel, yMin, yMax, yDiff);
+    /**
+     * Returns the {@code BarChartComponent} object from the specified file
+     * path which shows pairs appended to the file.
+     * 
+     * @param path
+     *            the path to file
+     * @return the {@code BarChartComponent} object from the specified file path
+     * @throws IOException
+     *             if an I/O error occurs while reading or watching the file
+     * @see BarChartWatcher
+     */
+    private static BarChartComponent watchChart(Path path) throws IOException {
+        BarChartWatcher watcher = new BarChartWatcher(path);
+        watcher.start();
 
-        return new BarChartComponent(chart);
+        return new BarChartComponent(watcher.getChart());
     }
 
 }
@@ -0,0 +1,23 @@
+package hr.fer.zemris.java.gui.charts;
+
+/**
+ * {@code BarChartListener} interface represents a listener which is notified
+ * when values of a {@link BarChart} change.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChart
+ */
+@FunctionalInterface
+public interface BarChartListener {
+
+    /**
+     * Called after values of specified chart changed. This method is called
+     * from the thread which changed the values.
+     * 
+     * @param chart
+     *            the chart whose values changed
+     */
+    void barChartChanged(BarChart chart);
+
+}
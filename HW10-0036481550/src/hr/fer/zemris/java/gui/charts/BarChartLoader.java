@@ -0,0 +1,564 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * {@code BarChartLoader} class reads a {@link BarChart} from a text file.
+ * <p>
+ * The file consists of six lines: label of the x axis, label of the y axis, x
+ * and y pairs separated by whitespace (for example {@code 1,8 2,20 3,22}),
+ * minimum y value, maximum y value and the difference between two adjacent y
+ * values. Lines after the sixth one can contain more x and y pairs, which is
+ * how collectors append new values to a chart file, see
+ * {@link BarChartWatcher}.
+ * <p>
+ * The file is memory-mapped in windows of {@value #WINDOW_SIZE} bytes and
+ * scanned once to find where the lines start. The line with x and y pairs is
+ * then split on whitespace into chunks which are parsed in parallel in the
+ * common {@link ForkJoinPool}, in two passes. The first pass counts the pairs
+ * of each chunk, so the primitive columns of the chart are allocated once with
+ * the exact number of pairs. The second pass parses each chunk byte by byte
+ * with {@link XYValueParser} straight into its own range of the columns, so x
+ * and y pairs go into the chart model without creating a {@code String} or a
+ * boxed value for each token, and without copying them again.
+ * <p>
+ * Files written in the binary chart format are recognized by their first
+ * bytes and read with {@link BarChartBinaryFormat} instead.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChart
+ */
+public class BarChartLoader {
+
+    /** Size (in bytes) of one memory-mapped window of the file. */
+    private static final long WINDOW_SIZE = 1L << 26;
+
+    /** Minimum size (in bytes) of a chunk parsed by one task. */
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    /** Number of chunks for each thread of the pool. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** Index of the line containing the label of the x axis. */
+    private static final int X_LABEL_LINE = 0;
+    /** Index of the line containing the label of the y axis. */
+    private static final int Y_LABEL_LINE = 1;
+    /** Index of the line containing the x and y pairs. */
+    private static final int VALUES_LINE = 2;
+    /** Index of the line containing the minimum y value. */
+    private static final int Y_MIN_LINE = 3;
+    /** Index of the line containing the maximum y value. */
+    private static final int Y_MAX_LINE = 4;
+    /** Index of the line containing the difference between two y values. */
+    private static final int Y_DIFF_LINE = 5;
+    /** Number of lines in the file. */
+    private static final int LINE_COUNT = 6;
+
+    /** Channel of the file. */
+    private final FileChannel channel;
+    /** Minimum size (in bytes) of a chunk parsed by one task. */
+    private final long minChunkSize;
+
+    /** Index of the line currently being read. */
+    private int line;
+    /** Position in the file where the current line starts. */
+    private long lineStart;
+    /** Bytes of the current line if it isn't the line with pairs. */
+    private ByteArrayOutputStream lineBytes = new ByteArrayOutputStream();
+    /** Parsed lines, except the line with pairs. */
+    private String[] lines = new String[LINE_COUNT];
+
+    /** Position in the file where the line with pairs starts. */
+    private long valuesStart = -1;
+    /** Position in the file where the line with pairs ends. */
+    private long valuesEnd = -1;
+    /** Position in the file where the appended pairs start. */
+    private long appendedStart = -1;
+
+    /**
+     * Constructs a new {@code BarChartLoader} object which reads from
+     * specified channel.
+     * 
+     * @param channel
+     *            channel of the file
+     * @param minChunkSize
+     *            minimum size (in bytes) of a chunk parsed by one task
+     */
+    private BarChartLoader(FileChannel channel, long minChunkSize) {
+        this.channel = channel;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Returns the {@code BarChart} object read from the specified file path.
+     * 
+     * @param path
+     *            the path to file
+     * @return the {@code BarChart} object read from the specified file path
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     * @throws NumberFormatException
+     *             if the file contains an invalid number or pair
+     * @throws IllegalArgumentException
+     *             if the file doesn't contain all six lines or isn't a valid
+     *             binary chart file
+     */
+    public static BarChart load(Path path) throws IOException {
+        if (path == null)
+            throw new NullPointerException("Path parameter cannot be a null reference!");
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (BarChartBinaryFormat.isBinary(channel))
+                return BarChartBinaryFormat.read(channel);
+
+            return load(channel, false);
+        }
+    }
+
+    /**
+     * Returns the {@code BarChart} object read from the specified text chart
+     * file. The channel is left positioned after the last pair which was read.
+     * 
+     * @param channel
+     *            channel of the file
+     * @param completePairsOnly
+     *            {@code true} if appended pairs at the end of the file which
+     *            aren't followed by whitespace should not be read, because
+     *            they may still be being written
+     * @return the {@code BarChart} object read from the specified file
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     * @throws NumberFormatException
+     *             if the file contains an invalid number or pair
+     * @throws IllegalArgumentException
+     *             if the file doesn't contain all six lines
+     */
+    static BarChart load(FileChannel channel, boolean completePairsOnly) throws IOException {
+        return load(channel, completePairsOnly, MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * Returns the {@code BarChart} object read from the specified text chart
+     * file, split into chunks of at least specified size. The channel is left
+     * positioned after the last pair which was read.
+     * 
+     * @param channel
+     *            channel of the file
+     * @param completePairsOnly
+     *            {@code true} if appended pairs at the end of the file which
+     *            aren't followed by whitespace should not be read
+     * @param minChunkSize
+     *            minimum size (in bytes) of a chunk parsed by one task
+     * @return the {@code BarChart} object read from the specified file
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     * @throws NumberFormatException
+     *             if the file contains an invalid number or pair
+     * @throws IllegalArgumentException
+     *             if the file doesn't contain all six lines
+     */
+    static BarChart load(FileChannel channel, boolean completePairsOnly, long minChunkSize) throws IOException {
+        BarChartLoader loader = new BarChartLoader(channel, minChunkSize);
+        long size = channel.size();
+
+        for (long position = 0; position < size && loader.line < LINE_COUNT; position += WINDOW_SIZE) {
+            long length = Math.min(WINDOW_SIZE, size - position);
+            MappedByteBuffer window = channel.map(MapMode.READ_ONLY, position, length);
+
+            loader.read(window, position);
+        }
+
+        return loader.finish(size, completePairsOnly);
+    }
+
+    /**
+     * Reads all bytes of the specified window until all lines are found.
+     * 
+     * @param window
+     *            part of the file
+     * @param position
+     *            position of the window in the file
+     */
+    private void read(MappedByteBuffer window, long position) {
+        for (int i = 0, limit = window.limit(); i < limit && line < LINE_COUNT; i++) {
+            byte b = window.get(i);
+
+            if (b == '\n') {
+                endLine(position + i);
+            } else if (line != VALUES_LINE) {
+                lineBytes.write(b);
+            }
+        }
+    }
+
+    /**
+     * Finishes the current line and moves to the next one.
+     * 
+     * @param position
+     *            position in the file where the line ends
+     */
+    private void endLine(long position) {
+        if (line == VALUES_LINE) {
+            valuesEnd = position;
+        } else {
+            lines[line] = new String(lineBytes.toByteArray(), StandardCharsets.UTF_8);
+            lineBytes.reset();
+        }
+
+        line++;
+        lineStart = position + 1;
+
+        if (line == VALUES_LINE) {
+            valuesStart = position + 1;
+        } else if (line == LINE_COUNT) {
+            appendedStart = position + 1;
+        }
+    }
+
+    /**
+     * Returns the {@code BarChart} object made of all the lines which were
+     * read.
+     * 
+     * @param size
+     *            size of the file
+     * @param completePairsOnly
+     *            {@code true} if appended pairs which aren't followed by
+     *            whitespace should not be read
+     * @return the {@code BarChart} object
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     */
+    private BarChart finish(long size, boolean completePairsOnly) throws IOException {
+        if (line < LINE_COUNT && size > lineStart)
+            endLine(size);
+
+        for (int i = 0; i < LINE_COUNT; i++) {
+            if (i != VALUES_LINE && lines[i] == null)
+                throw new IllegalArgumentException("Chart file needs to have " + LINE_COUNT + " lines!");
+        }
+
+        String xLabel = stripCarriageReturn(lines[X_LABEL_LINE]);
+        String yLabel = stripCarriageReturn(lines[Y_LABEL_LINE]);
+
+        int yMin = Integer.valueOf(lines[Y_MIN_LINE].trim());
+        int yMax = Integer.valueOf(lines[Y_MAX_LINE].trim());
+        int yDiff = Integer.valueOf(lines[Y_DIFF_LINE].trim());
+
+        long appendedEnd = size;
+        appendedStart = Math.min(appendedStart, size);
+        if (completePairsOnly) {
+            appendedEnd = Math.max(appendedStart, previousWhitespace(size, appendedStart) + 1);
+        }
+
+        List<Chunk> chunks = split(valuesStart, valuesEnd);
+        if (appendedEnd > appendedStart) {
+            chunks.addAll(split(appendedStart, appendedEnd));
+        }
+        ForkJoinTask.invokeAll(chunks);
+
+        int count = 0;
+        for (Chunk chunk : chunks) {
+            chunk.checkError();
+            count = Math.addExact(count, chunk.size);
+        }
+
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        int offset = 0;
+        for (Chunk chunk : chunks) {
+            chunk.setColumns(xs, ys, offset);
+            offset += chunk.size;
+        }
+
+        ForkJoinTask.invokeAll(chunks);
+        channel.position(appendedEnd);
+
+        for (Chunk chunk : chunks) {
+            chunk.checkError();
+        }
+
+        return new BarChart(xs, ys, count, xLabel, yLabel, yMin, yMax, yDiff);
+    }
+
+    /**
+     * Splits the part of the file between specified positions into chunks
+     * which end on whitespace, so no pair is split between two chunks.
+     * 
+     * @param start
+     *            position where the part starts, inclusive
+     * @param end
+     *            position where the part ends, exclusive
+     * @return chunks in the order they appear in the file
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     */
+    private List<Chunk> split(long start, long end) throws IOException {
+        long length = end - start;
+        long parallelChunks = Math.min(
+                (long) ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD,
+                length / minChunkSize);
+        long count = Math.max(Math.max(1, parallelChunks), (length + WINDOW_SIZE - 1) / WINDOW_SIZE);
+
+        List<Chunk> chunks = new ArrayList<>((int) count);
+        long chunkStart = start;
+        for (long i = 1; i < count; i++) {
+            long chunkEnd = nextWhitespace(Math.max(chunkStart, start + length * i / count), end);
+
+            if (chunkEnd > chunkStart) {
+                chunks.add(new Chunk(channel, chunkStart, chunkEnd));
+                chunkStart = chunkEnd;
+            }
+        }
+        chunks.add(new Chunk(channel, chunkStart, end));
+
+        return chunks;
+    }
+
+    /**
+     * Returns the position of the first whitespace byte at or after specified
+     * position.
+     * 
+     * @param position
+     *            the position
+     * @param end
+     *            position where the search stops
+     * @return position of the first whitespace byte, {@code end} if there is
+     *         none
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     */
+    private long nextWhitespace(long position, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+
+            int read = channel.read(buffer, position);
+            if (read <= 0)
+                return end;
+
+            for (int i = 0; i < read; i++) {
+                if (XYValueParser.isWhitespace(buffer.get(i)))
+                    return position + i;
+            }
+
+            position += read;
+        }
+
+        return end;
+    }
+
+    /**
+     * Returns the position of the last whitespace byte before specified
+     * position.
+     * 
+     * @param position
+     *            the position, exclusive
+     * @param start
+     *            position where the search stops, inclusive
+     * @return position of the last whitespace byte, {@code start - 1} if
+     *         there is none
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     */
+    private long previousWhitespace(long position, long start) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        while (position > start) {
+            int length = (int) Math.min(buffer.capacity(), position - start);
+            buffer.clear();
+            buffer.limit(length);
+
+            int read = channel.read(buffer, position - length);
+            if (read < length)
+                return start - 1;
+
+            for (int i = length - 1; i >= 0; i--) {
+                if (XYValueParser.isWhitespace(buffer.get(i)))
+                    return position - length + i;
+            }
+
+            position -= length;
+        }
+
+        return start - 1;
+    }
+
+    /**
+     * Returns the specified line without the trailing carriage return.
+     * 
+     * @param s
+     *            the line
+     * @return the line without the trailing carriage return
+     */
+    private static String stripCarriageReturn(String s) {
+        return s.endsWith("\r") ? s.substring(0, s.length() - 1) : s;
+    }
+
+    /**
+     * {@code Chunk} class represents a task which counts the x and y pairs in
+     * one part of the file when it's run for the first time, and parses them
+     * into its range of the value columns when it's run again.
+     * 
+     * @author Karlo Vrbić
+     * @version 1.0
+     */
+    private static class Chunk extends RecursiveAction {
+
+        /** Serial version UID. */
+        private static final long serialVersionUID = 4081632155129514312L;
+
+        /** Channel of the file. */
+        private final transient FileChannel channel;
+        /** Position where the chunk starts, inclusive. */
+        private final long start;
+        /** Position where the chunk ends, exclusive. */
+        private final long end;
+
+        /** Mapped part of the file, {@code null} until the chunk is counted. */
+        private transient MappedByteBuffer buffer;
+        /** Number of x and y pairs in the chunk. */
+        private int size;
+
+        /** X values of all chunks, {@code null} until the chunk is counted. */
+        private int[] xs;
+        /** Y values of all chunks. */
+        private int[] ys;
+        /** Index in the columns of the first pair of the chunk. */
+        private int offset;
+
+        /** Exception thrown while parsing, {@code null} if there was none. */
+        private Exception error;
+
+        /**
+         * Constructs a new {@code Chunk} object for the part of the file
+         * between specified positions.
+         * 
+         * @param channel
+         *            channel of the file
+         * @param start
+         *            position where the chunk starts, inclusive
+         * @param end
+         *            position where the chunk ends, exclusive
+         */
+        Chunk(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                if (xs == null) {
+                    count();
+                } else {
+                    parse();
+                }
+            } catch (IOException | NumberFormatException e) {
+                error = e;
+            }
+        }
+
+        /**
+         * Sets the columns the pairs of the chunk are parsed into, and
+         * prepares the chunk to be run again.
+         * 
+         * @param xs
+         *            x values of all chunks
+         * @param ys
+         *            y values of all chunks
+         * @param offset
+         *            index in the columns of the first pair of the chunk
+         */
+        void setColumns(int[] xs, int[] ys, int offset) {
+            this.xs = xs;
+            this.ys = ys;
+            this.offset = offset;
+            reinitialize();
+        }
+
+        /**
+         * Maps the part of the file and counts the tokens separated by
+         * whitespace, each of which is a pair.
+         * 
+         * @throws IOException
+         *             if an I/O error occurs while mapping the file
+         */
+        private void count() throws IOException {
+            int length = (int) (end - start);
+            if (length == 0)
+                return;
+
+            buffer = channel.map(MapMode.READ_ONLY, start, length);
+
+            boolean token = false;
+            for (int i = 0; i < length; i++) {
+                boolean whitespace = XYValueParser.isWhitespace(buffer.get(i));
+                if (!whitespace && !token) {
+                    size++;
+                }
+                token = !whitespace;
+            }
+        }
+
+        /**
+         * Parses all pairs of the chunk into its range of the columns.
+         */
+        private void parse() {
+            if (size == 0)
+                return;
+
+            XYValueParser parser = new XYValueParser();
+            int length = buffer.limit();
+            int index = offset;
+            int i = 0;
+            while (i < length) {
+                while (i < length && XYValueParser.isWhitespace(buffer.get(i))) {
+                    i++;
+                }
+
+                int tokenStart = i;
+                while (i < length && !XYValueParser.isWhitespace(buffer.get(i))) {
+                    i++;
+                }
+
+                if (i > tokenStart) {
+                    parser.parse(buffer, tokenStart, i);
+                    xs[index] = parser.getX();
+                    ys[index] = parser.getY();
+                    index++;
+                }
+            }
+        }
+
+        /**
+         * Rethrows the exception thrown while parsing, if any.
+         * 
+         * @throws IOException
+         *             if an I/O error occurred while reading the chunk
+         * @throws NumberFormatException
+         *             if the chunk contains an invalid pair
+         */
+        void checkError() throws IOException {
+            if (error instanceof IOException)
+                throw (IOException) error;
+            if (error != null)
+                throw (NumberFormatException) error;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+/**
+ * {@code BarChartRenderer} class renders chart files to PNG images without a
+ * display.
+ * <p>
+ * User needs to provide two command-line arguments: a directory or a glob
+ * pattern (for example {@code charts/*.txt}) of chart files and a directory
+ * where images will be written. Optional third argument is the number of
+ * threads, by default the number of available processors.
+ * <p>
+ * Charts are rendered through {@link BarChartComponent} on a fixed thread
+ * pool. Each thread reuses its own component and image for all charts it
+ * renders. When all charts are rendered throughput is printed.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartLoader
+ * @see BarChartComponent
+ */
+public class BarChartRenderer {
+
+    /** Width of the rendered image. */
+    private static final int IMAGE_WIDTH = 500;
+    /** Height of the rendered image. */
+    private static final int IMAGE_HEIGHT = 500;
+
+    /** Characters which make an argument a glob pattern. */
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    /** Image of each thread. */
+    private static final ThreadLocal<BufferedImage> IMAGE = ThreadLocal
+            .withInitial(() -> new BufferedImage(IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_INT_RGB));
+
+    /** Component of each thread, {@code null} until the first chart. */
+    private static final ThreadLocal<BarChartComponent> COMPONENT = new ThreadLocal<>();
+
+    /**
+     * Starting point of a program.
+     * 
+     * @param args
+     *            Command-line argument
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BarChartRenderer <directory or glob> <output directory> [threads]");
+            System.exit(1);
+        }
+
+        System.setProperty("java.awt.headless", "true");
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length == 3) {
+            try {
+                threads = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                threads = 0;
+            }
+
+            if (threads < 1) {
+                System.err.println("Number of threads must be a positive integer, was: " + args[2]);
+                System.exit(1);
+            }
+        }
+
+        List<Path> files;
+        Path outputDirectory = Paths.get(args[1]);
+        try {
+            files = findFiles(args[0]);
+            Files.createDirectories(outputDirectory);
+        } catch (IOException e) {
+            System.err.println("Unable to list the files: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        render(files, outputDirectory, threads);
+    }
+
+    /**
+     * Returns all regular files in specified directory or all regular files
+     * matching specified glob pattern.
+     * 
+     * @param argument
+     *            a directory or a glob pattern
+     * @return the files sorted by path
+     * @throws IOException
+     *             if an I/O error occurs while listing the files
+     */
+    private static List<Path> findFiles(String argument) throws IOException {
+        int glob = firstGlobCharacter(argument);
+
+        if (glob < 0) {
+            try (Stream<Path> files = Files.list(Paths.get(argument))) {
+                return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+        }
+
+        int separator = Math.max(argument.lastIndexOf('/', glob), argument.lastIndexOf('\\', glob));
+        Path base = Paths.get(separator < 0 ? "." : argument.substring(0, separator + 1));
+        String pattern = argument.substring(separator + 1);
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+
+        try (Stream<Path> files = Files.walk(base)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(p -> matcher.matches(base.relativize(p)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Returns the index of the first glob character in specified string.
+     * 
+     * @param s
+     *            the string
+     * @return the index of the first glob character, -1 if there is none
+     */
+    private static int firstGlobCharacter(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(s.charAt(i)) >= 0)
+                return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Renders all specified chart files into specified directory using
+     * specified number of threads and prints the throughput.
+     * 
+     * @param files
+     *            the chart files
+     * @param outputDirectory
+     *            directory where images will be written
+     * @param threads
+     *            number of threads
+     */
+    private static void render(List<Path> files, Path outputDirectory, int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> results = new ArrayList<>(files.size());
+
+        long start = System.nanoTime();
+
+        for (Path file : files) {
+            results.add(pool.submit(() -> renderFile(file, outputDirectory)));
+        }
+
+        int rendered = 0;
+        long renderTime = 0;
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                renderTime += results.get(i).get();
+                rendered++;
+            } catch (ExecutionException e) {
+                System.err.println("Unable to render " + files.get(i) + ": " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        pool.shutdown();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(
+                "Rendered %d of %d charts in %.3f s on %d threads: %.1f charts/s, %.3f ms/chart%n",
+                rendered,
+                files.size(),
+                seconds,
+                threads,
+                rendered / seconds,
+                rendered == 0 ? 0.0 : renderTime / 1e6 / rendered);
+    }
+
+    /**
+     * Renders specified chart file to a PNG image in specified directory.
+     * 
+     * @param file
+     *            the chart file
+     * @param outputDirectory
+     *            directory where the image will be written
+     * @return time (in nanoseconds) it took to load, render and write the chart
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    private static long renderFile(Path file, Path outputDirectory) throws IOException {
+        long start = System.nanoTime();
+
+        BarChart chart = BarChartLoader.load(file);
+
+        BarChartComponent component = COMPONENT.get();
+        if (component == null) {
+            component = new BarChartComponent(chart);
+            component.setSize(IMAGE_WIDTH, IMAGE_HEIGHT);
+            COMPONENT.set(component);
+        } else {
+            component.setBarChart(chart);
+        }
+
+        BufferedImage image = IMAGE.get();
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, IMAGE_WIDTH, IMAGE_HEIGHT);
+            g.setColor(Color.BLACK);
+
+            component.paint(g);
+        } finally {
+            g.dispose();
+        }
+
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            name = name.substring(0, dot);
+        }
+
+        ImageIO.write(image, "png", outputDirectory.resolve(name + ".png").toFile());
+
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,330 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+
+/**
+ * {@code BarChartWatcher} class keeps a {@link BarChart} up to date with a
+ * text chart file which grows while it's shown.
+ * <p>
+ * The file is read once with {@link BarChartLoader} and the position after
+ * the last read pair is remembered. When the file changes, only the bytes
+ * appended after that position are read and parsed with
+ * {@link XYValueParser}, and the new pairs are inserted into the chart, so
+ * the cost of a refresh depends only on the amount of new data. A pair at the
+ * end of the file which isn't followed by whitespace is read on a later
+ * refresh, because it may still be being written.
+ * <p>
+ * Changes are detected with a {@link WatchService} on a background daemon
+ * thread started by {@link #start()}. If the file gets shorter, it was
+ * truncated or replaced, so all pairs of the chart are replaced with the pairs
+ * read from the file again. Labels and the y axis of the chart are kept.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartLoader
+ * @see BarChart#insertAll(int[], int[], int)
+ */
+public class BarChartWatcher implements Closeable {
+
+    /** Size (in bytes) of the buffer the appended bytes are read into. */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /** Initial capacity of the columns of new pairs. */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** Path to the watched file. */
+    private final Path path;
+    /** Chart which receives the new pairs. */
+    private final BarChart chart;
+    /** Position in the file after the last read pair. */
+    private long offset;
+    /** Whether the rest of a too long pair is skipped before the next pair. */
+    private boolean skipping;
+
+    /** Buffer the appended bytes are read into. */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    /** Parser of the appended pairs. */
+    private final XYValueParser parser = new XYValueParser();
+    /** X values of new pairs. */
+    private int[] xs = new int[INITIAL_CAPACITY];
+    /** Y values of new pairs. */
+    private int[] ys = new int[INITIAL_CAPACITY];
+    /** Number of new pairs. */
+    private int count;
+
+    /** Watch service of the directory, {@code null} until started. */
+    private WatchService watchService;
+
+    /**
+     * Constructs a new {@code BarChartWatcher} object and reads the chart
+     * from specified file.
+     * 
+     * @param path
+     *            the path to text chart file
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     * @throws NumberFormatException
+     *             if the file contains an invalid number or pair
+     * @throws IllegalArgumentException
+     *             if the file doesn't contain all six lines or is a binary
+     *             chart file
+     */
+    public BarChartWatcher(Path path) throws IOException {
+        if (path == null)
+            throw new NullPointerException("Path parameter cannot be a null reference!");
+
+        this.path = path.toAbsolutePath();
+
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            if (BarChartBinaryFormat.isBinary(channel))
+                throw new IllegalArgumentException("Only text chart files can be watched!");
+
+            this.chart = BarChartLoader.load(channel, true);
+            this.offset = channel.position();
+        }
+    }
+
+    /**
+     * Returns the chart which receives the new pairs.
+     * 
+     * @return the chart
+     */
+    public BarChart getChart() {
+        return chart;
+    }
+
+    /**
+     * Starts watching the file on a background daemon thread. Errors while
+     * reading are printed to the standard error and watching continues.
+     * 
+     * @throws IOException
+     *             if the directory of the file can't be watched
+     */
+    public synchronized void start() throws IOException {
+        if (watchService != null)
+            return;
+
+        watchService = path.getFileSystem().newWatchService();
+        path.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+
+        Thread thread = new Thread(this::watch, "BarChartWatcher-" + path.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Reads the pairs appended to the file since the last refresh and inserts
+     * them into the chart.
+     * 
+     * @return the number of new pairs
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     * @throws NumberFormatException
+     *             if an appended pair is invalid or longer than
+     *             {@value #BUFFER_SIZE} bytes, pairs before it are still
+     *             inserted and it's skipped on the next refresh
+     * @throws IllegalArgumentException
+     *             if the file got shorter and doesn't contain all six lines,
+     *             it's read again on the next refresh
+     */
+    public synchronized int refresh() throws IOException {
+        count = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) {
+                reload(channel);
+            }
+
+            while (offset < size) {
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_SIZE, size - offset));
+
+                int read = channel.read(buffer, offset);
+                if (read <= 0)
+                    break;
+
+                if (skipping) {
+                    skip(read);
+                    continue;
+                }
+
+                int end = read;
+                while (end > 0 && !XYValueParser.isWhitespace(buffer.get(end - 1))) {
+                    end--;
+                }
+
+                if (end == 0) {
+                    if (read == BUFFER_SIZE) {
+                        offset += read;
+                        skipping = true;
+                        throw new NumberFormatException("Pair is longer than " + BUFFER_SIZE + " bytes!");
+                    }
+                    break;
+                }
+
+                parse(end);
+            }
+        } finally {
+            chart.insertAll(xs, ys, count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Replaces all pairs of the chart with the pairs read from the start of
+     * the file, and moves the offset after the last read pair. The chart is
+     * changed only if the file is read successfully.
+     * 
+     * @param channel
+     *            channel of the file
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     */
+    private void reload(FileChannel channel) throws IOException {
+        BarChart loaded = BarChartLoader.load(channel, true);
+
+        chart.clear();
+        offset = channel.position();
+        skipping = false;
+
+        for (int i = 0, n = loaded.getSize(); i < n; i++) {
+            addPair(loaded.getX(i), loaded.getY(i));
+        }
+    }
+
+    /**
+     * Moves the offset over the bytes at the start of the buffer which belong
+     * to a skipped pair, and stops skipping when the pair ends.
+     * 
+     * @param read
+     *            number of bytes in the buffer
+     */
+    private void skip(int read) {
+        int i = 0;
+        while (i < read && !XYValueParser.isWhitespace(buffer.get(i))) {
+            i++;
+        }
+
+        offset += i;
+        skipping = i == read;
+    }
+
+    /**
+     * Parses all pairs in the first {@code end} bytes of the buffer and moves
+     * the offset after them.
+     * 
+     * @param end
+     *            number of bytes to parse, the last one is whitespace
+     */
+    private void parse(int end) {
+        int i = 0;
+        while (i < end) {
+            while (i < end && XYValueParser.isWhitespace(buffer.get(i))) {
+                i++;
+            }
+
+            int tokenStart = i;
+            while (i < end && !XYValueParser.isWhitespace(buffer.get(i))) {
+                i++;
+            }
+
+            if (i > tokenStart) {
+                try {
+                    parser.parse(buffer, tokenStart, i);
+                } catch (NumberFormatException e) {
+                    offset += i;
+                    throw e;
+                }
+
+                addPair(parser.getX(), parser.getY());
+            }
+        }
+
+        offset += end;
+    }
+
+    /**
+     * Adds specified pair to the columns of new pairs.
+     * 
+     * @param x
+     *            x value
+     * @param y
+     *            y value
+     */
+    private void addPair(int x, int y) {
+        if (count == xs.length) {
+            int capacity = xs.length + (xs.length >> 1);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+
+        xs[count] = x;
+        ys[count] = y;
+        count++;
+    }
+
+    /**
+     * Waits for changes of the file and refreshes the chart until the watch
+     * service is closed.
+     */
+    private void watch() {
+        Path name = path.getFileName();
+        refreshAndReport();
+
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == OVERFLOW || name.equals(event.context());
+                }
+
+                if (changed) {
+                    refreshAndReport();
+                }
+
+                if (!key.reset())
+                    return;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            return;
+        }
+    }
+
+    /**
+     * Refreshes the chart and prints errors to the standard error.
+     */
+    private void refreshAndReport() {
+        try {
+            refresh();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Unable to read the file: " + e.getMessage());
+        }
+    }
+}
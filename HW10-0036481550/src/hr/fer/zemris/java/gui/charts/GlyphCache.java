@@ -0,0 +1,288 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GlyphCache} class caches glyph vectors of labels and numbers drawn
+ * with one font.
+ * <p>
+ * Looking up a label or a number which is already in the cache doesn't
+ * allocate any objects, so drawing it allocates only what the graphics
+ * allocate for drawing a glyph vector. Numbers are kept in a direct-mapped table indexed by the number
+ * itself, so looking them up needs no boxing or string conversion. Labels are
+ * kept in a small LRU cache. Glyph vectors depend on the font render context,
+ * so the cache is cleared when it changes. Only the scale of the transform of
+ * the context is kept, so drawing under a rotated or translated transform, like
+ * the rotated y axis label, reuses the same glyphs and the transform is applied
+ * only when they are drawn.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartComponent
+ */
+class GlyphCache {
+
+    /** Number of cached numbers, must be a power of two. */
+    private static final int NUMBER_CACHE_SIZE = 256;
+    /** Maximum number of cached labels. */
+    private static final int LABEL_CACHE_SIZE = 16;
+
+    /** Font of the text. */
+    private final Font font;
+
+    /** Font render context the glyphs were created for. */
+    private FontRenderContext frc;
+    /** Font render context of the graphics which was last validated. */
+    private FontRenderContext lastFrc;
+    /** Ascent of the font. */
+    private int ascent;
+
+    /** Numbers in the number cache. */
+    private final int[] numbers = new int[NUMBER_CACHE_SIZE];
+    /** Glyphs of numbers, {@code null} if the slot is empty. */
+    private final Glyphs[] numberGlyphs = new Glyphs[NUMBER_CACHE_SIZE];
+
+    /** Glyphs of labels. */
+    private final Map<String, Glyphs> labelGlyphs = new LinkedHashMap<String, Glyphs>(
+            LABEL_CACHE_SIZE,
+            0.75f,
+            true) {
+
+        /** Serial version UID. */
+        private static final long serialVersionUID = -3520958114316632791L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Glyphs> eldest) {
+            return size() > LABEL_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Constructs a new {@code GlyphCache} object for specified font.
+     * 
+     * @param font
+     *            font of the text
+     */
+    GlyphCache(Font font) {
+        if (font == null)
+            throw new NullPointerException("Font parameter cannot be a null reference!");
+
+        this.font = font;
+    }
+
+    /**
+     * Returns the ascent of the font.
+     * 
+     * @param g
+     *            the {@code Graphics2D} object the text is drawn with
+     * @return the ascent of the font
+     */
+    int getAscent(Graphics2D g) {
+        validate(g);
+        return ascent;
+    }
+
+    /**
+     * Returns the width of specified label.
+     * 
+     * @param g
+     *            the {@code Graphics2D} object the text is drawn with
+     * @param label
+     *            the label
+     * @return the width of specified label
+     */
+    float getLabelWidth(Graphics2D g, String label) {
+        return label(g, label).width;
+    }
+
+    /**
+     * Returns the width of specified number.
+     * 
+     * @param g
+     *            the {@code Graphics2D} object the text is drawn with
+     * @param number
+     *            the number
+     * @return the width of specified number
+     */
+    float getNumberWidth(Graphics2D g, int number) {
+        return number(g, number).width;
+    }
+
+    /**
+     * Draws specified label with its baseline starting at specified point.
+     * 
+     * @param g
+     *            the {@code Graphics2D} object to paint
+     * @param label
+     *            the label
+     * @param x
+     *            x coordinate
+     * @param y
+     *            y coordinate
+     */
+    void drawLabel(Graphics2D g, String label, float x, float y) {
+        g.drawGlyphVector(getLabelGlyphs(g, label), x, y);
+    }
+
+    /**
+     * Draws specified number with its baseline starting at specified point.
+     * 
+     * @param g
+     *            the {@code Graphics2D} object to paint
+     * @param number
+     *            the number
+     * @param x
+     *            x coordinate
+     * @param y
+     *            y coordinate
+     */
+    void drawNumber(Graphics2D g, int number, float x, float y) {
+        g.drawGlyphVector(getNumberGlyphs(g, number), x, y);
+    }
+
+    /**
+     * Returns the glyph vector of specified label.
+     * 
+     * @param g
+     *            the {@code Graphics2D} object the text is drawn with
+     * @param label
+     *            the label
+     * @return the glyph vector of specified label
+     */
+    GlyphVector getLabelGlyphs(Graphics2D g, String label) {
+        return label(g, label).vector;
+    }
+
+    /**
+     * Returns the glyph vector of specified number.
+     * 
+     * @param g
+     *            the {@code Graphics2D} object the text is drawn with
+     * @param number
+     *            the number
+     * @return the glyph vector of specified number
+     */
+    GlyphVector getNumberGlyphs(Graphics2D g, int number) {
+        return number(g, number).vector;
+    }
+
+    /**
+     * Returns the glyphs of specified label.
+     * 
+     * @param g
+     *            the {@code Graphics2D} object the text is drawn with
+     * @param label
+     *            the label
+     * @return the glyphs of specified label
+     */
+    private Glyphs label(Graphics2D g, String label) {
+        validate(g);
+
+        Glyphs glyphs = labelGlyphs.get(label);
+        if (glyphs == null) {
+            glyphs = new Glyphs(font.createGlyphVector(frc, label));
+            labelGlyphs.put(label, glyphs);
+        }
+
+        return glyphs;
+    }
+
+    /**
+     * Returns the glyphs of specified number.
+     * 
+     * @param g
+     *            the {@code Graphics2D} object the text is drawn with
+     * @param number
+     *            the number
+     * @return the glyphs of specified number
+     */
+    private Glyphs number(Graphics2D g, int number) {
+        validate(g);
+
+        int slot = number & (NUMBER_CACHE_SIZE - 1);
+
+        Glyphs glyphs = numberGlyphs[slot];
+        if (glyphs == null || numbers[slot] != number) {
+            glyphs = new Glyphs(font.createGlyphVector(frc, Integer.toString(number)));
+            numbers[slot] = number;
+            numberGlyphs[slot] = glyphs;
+        }
+
+        return glyphs;
+    }
+
+    /**
+     * Clears the cache if specified graphics uses different font render
+     * context than the cached glyphs. Rotation and translation of the
+     * transform are ignored. Graphics return the same context until their
+     * transform or hints change, so the context without rotation is created
+     * only when it differs from the last one.
+     * 
+     * @param g
+     *            the {@code Graphics2D} object the text is drawn with
+     */
+    private void validate(Graphics2D g) {
+        FontRenderContext seen = g.getFontRenderContext();
+        if (seen == lastFrc || seen.equals(lastFrc))
+            return;
+
+        lastFrc = seen;
+        FontRenderContext current = unrotated(seen);
+        if (current.equals(frc))
+            return;
+
+        frc = current;
+        ascent = g.getFontMetrics(font).getAscent();
+        labelGlyphs.clear();
+        Arrays.fill(numberGlyphs, null);
+    }
+
+    /**
+     * Returns the font render context with the same hints as specified one and
+     * a transform which keeps only its scale.
+     * 
+     * @param frc
+     *            the font render context
+     * @return the font render context without rotation and translation
+     */
+    private static FontRenderContext unrotated(FontRenderContext frc) {
+        AffineTransform at = frc.getTransform();
+        double scaleX = Math.hypot(at.getScaleX(), at.getShearY());
+        double scaleY = Math.hypot(at.getShearX(), at.getScaleY());
+
+        return new FontRenderContext(AffineTransform.getScaleInstance(scaleX, scaleY),
+                frc.getAntiAliasingHint(), frc.getFractionalMetricsHint());
+    }
+
+    /**
+     * {@code Glyphs} class represents a glyph vector together with its width.
+     * 
+     * @author Karlo Vrbić
+     * @version 1.0
+     */
+    private static class Glyphs {
+
+        /** The glyph vector. */
+        private final GlyphVector vector;
+        /** Width of the glyph vector. */
+        private final float width;
+
+        /**
+         * Constructs a new {@code Glyphs} object with specified glyph vector.
+         * 
+         * @param vector
+         *            the glyph vector
+         */
+        Glyphs(GlyphVector vector) {
+            this.vector = vector;
+            this.width = (float) vector.getLogicalBounds().getWidth();
+        }
+    }
+}
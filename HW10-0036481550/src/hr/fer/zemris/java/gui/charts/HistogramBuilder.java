@@ -0,0 +1,410 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ * {@code HistogramBuilder} class counts raw integer samples into bins of equal
+ * width and builds a {@link BarChart} with one bar for each bin.
+ * <p>
+ * Samples can be added from an {@link IntStream} or from a file with integers
+ * separated by whitespace, any number of times. Counting is done in parallel
+ * without any shared counter: a parallel stream counts each of its parts into
+ * its own array, and a file is split into chunks which are counted in the
+ * common {@link ForkJoinPool}. A chunk takes an array which isn't used by any
+ * other chunk at the moment and gives it back when it's counted, so there are
+ * only as many arrays as chunks counted at the same time, no matter how big
+ * the file is. Arrays are merged only when counting is finished, so threads
+ * never write to the same memory.
+ * <p>
+ * Samples outside the range of bins are not counted into any bin, but their
+ * number is available through {@link #getOutOfRangeCount()}.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChart
+ */
+public class HistogramBuilder {
+
+    /** Default size (in bytes) of the part of a file counted by one task. */
+    private static final long CHUNK_SIZE = 1L << 24;
+    /** Number of bytes after a chunk where its last sample can end. */
+    private static final int MAX_SAMPLE_LENGTH = 64;
+
+    /** Smallest value counted into the first bin. */
+    private final int min;
+    /** Width of each bin. */
+    private final int binWidth;
+    /** Number of bins. */
+    private final int bins;
+    /** Size (in bytes) of the part of a file counted by one task. */
+    private final long chunkSize;
+
+    /** Number of samples in each bin, the last element counts other samples. */
+    private final long[] counts;
+
+    /**
+     * Constructs a new {@code HistogramBuilder} object with bins of specified
+     * width covering values from {@code min} to {@code max}. The last bin is
+     * extended if the range isn't a multiple of bin width.
+     * 
+     * @param min
+     *            smallest counted value
+     * @param max
+     *            biggest counted value
+     * @param binWidth
+     *            number of values counted into one bin
+     * @throws IllegalArgumentException
+     *             if {@code max} is smaller than {@code min}, bin width isn't
+     *             positive or there are too many bins
+     */
+    public HistogramBuilder(int min, int max, int binWidth) {
+        this(min, max, binWidth, CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a new {@code HistogramBuilder} object with bins of specified
+     * width covering values from {@code min} to {@code max}, which counts
+     * files in chunks of specified size.
+     * 
+     * @param min
+     *            smallest counted value
+     * @param max
+     *            biggest counted value
+     * @param binWidth
+     *            number of values counted into one bin
+     * @param chunkSize
+     *            size (in bytes) of the part of a file counted by one task
+     * @throws IllegalArgumentException
+     *             if {@code max} is smaller than {@code min}, bin width or
+     *             chunk size isn't positive or there are too many bins
+     */
+    HistogramBuilder(int min, int max, int binWidth, long chunkSize) {
+        if (max < min)
+            throw new IllegalArgumentException("Maximum " + max + " is smaller than minimum " + min + "!");
+
+        if (binWidth <= 0)
+            throw new IllegalArgumentException("Bin width must be positive: " + binWidth + "!");
+
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize + "!");
+
+        long bins = ((long) max - min) / binWidth + 1;
+        if (bins >= Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many bins: " + bins + "!");
+
+        this.min = min;
+        this.binWidth = binWidth;
+        this.bins = (int) bins;
+        this.chunkSize = chunkSize;
+        this.counts = new long[this.bins + 1];
+    }
+
+    /**
+     * Counts all samples of specified stream. If the stream is parallel, each
+     * part of it is counted into its own array.
+     * 
+     * @param samples
+     *            the samples
+     * @return this builder
+     */
+    public HistogramBuilder add(IntStream samples) {
+        if (samples == null)
+            throw new NullPointerException("Samples cannot be a null reference!");
+
+        long[] partial = samples.collect(
+                () -> new long[bins + 1],
+                (c, sample) -> c[binOf(sample)]++,
+                HistogramBuilder::merge);
+
+        synchronized (this) {
+            merge(counts, partial);
+        }
+
+        return this;
+    }
+
+    /**
+     * Counts all samples of specified file. Samples are integers separated by
+     * whitespace. Parts of the file are counted in parallel, into one array
+     * for each part counted at the same time.
+     * 
+     * @param path
+     *            the path to file
+     * @return this builder
+     * @throws IOException
+     *             if an I/O error occurs while reading the file
+     * @throws NumberFormatException
+     *             if the file contains an invalid sample
+     */
+    public HistogramBuilder add(Path path) throws IOException {
+        if (path == null)
+            throw new NullPointerException("Path parameter cannot be a null reference!");
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            Queue<long[]> arrays = new ConcurrentLinkedQueue<>();
+
+            List<Chunk> chunks = new ArrayList<>();
+            for (long start = 0; start < size; start += chunkSize) {
+                chunks.add(new Chunk(channel, size, start, Math.min(size, start + chunkSize), arrays));
+            }
+
+            ForkJoinTask.invokeAll(chunks);
+
+            for (Chunk chunk : chunks) {
+                chunk.checkError();
+            }
+
+            synchronized (this) {
+                for (long[] partial : arrays) {
+                    merge(counts, partial);
+                }
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the number of counted samples which are outside the range of
+     * bins.
+     * 
+     * @return the number of samples outside the range of bins
+     */
+    public synchronized long getOutOfRangeCount() {
+        return counts[bins];
+    }
+
+    /**
+     * Returns the {@code BarChart} object with one pair for each bin. X value
+     * of the pair is the smallest value of the bin and y value is the number
+     * of samples in the bin. Y axis goes from 0 to the biggest count.
+     * 
+     * @param xAxisLabel
+     *            label of the x axis
+     * @param yAxisLabel
+     *            label of the y axis
+     * @return the {@code BarChart} object
+     * @throws ArithmeticException
+     *             if a bin has more than {@link Integer#MAX_VALUE} samples
+     */
+    public synchronized BarChart build(String xAxisLabel, String yAxisLabel) {
+        int[] xs = new int[bins];
+        int[] ys = new int[bins];
+        int yMax = 1;
+
+        for (int i = 0; i < bins; i++) {
+            xs[i] = (int) (min + (long) i * binWidth);
+            ys[i] = Math.toIntExact(counts[i]);
+            yMax = Math.max(yMax, ys[i]);
+        }
+
+        return new BarChart(xs, ys, bins, xAxisLabel, yAxisLabel, 0, yMax, 1);
+    }
+
+    /**
+     * Returns the bin of specified sample.
+     * 
+     * @param sample
+     *            the sample
+     * @return the bin of specified sample, the number of bins if it's outside
+     *         the range of bins
+     */
+    private int binOf(int sample) {
+        long bin = ((long) sample - min) / binWidth;
+
+        return sample < min || bin >= bins ? bins : (int) bin;
+    }
+
+    /**
+     * Adds the counts of the second array to the first one.
+     * 
+     * @param counts
+     *            the counts which are increased
+     * @param other
+     *            the counts which are added
+     */
+    private static void merge(long[] counts, long[] other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other[i];
+        }
+    }
+
+    /**
+     * {@code Chunk} class represents a task which counts the samples which
+     * start in one part of the file into an array which no other chunk uses
+     * while it's counted.
+     * 
+     * @author Karlo Vrbić
+     * @version 1.0
+     */
+    private class Chunk extends RecursiveAction {
+
+        /** Serial version UID. */
+        private static final long serialVersionUID = -2637815304432066117L;
+
+        /** Channel of the file. */
+        private final transient FileChannel channel;
+        /** Size of the file. */
+        private final long size;
+        /** Position where the chunk starts, inclusive. */
+        private final long start;
+        /** Position where the chunk ends, exclusive. */
+        private final long end;
+
+        /** Arrays which aren't used by any chunk at the moment. */
+        private final transient Queue<long[]> arrays;
+
+        /** Exception thrown while counting, {@code null} if there was none. */
+        private Exception error;
+
+        /**
+         * Constructs a new {@code Chunk} object for the part of the file
+         * between specified positions.
+         * 
+         * @param channel
+         *            channel of the file
+         * @param size
+         *            size of the file
+         * @param start
+         *            position where the chunk starts, inclusive
+         * @param end
+         *            position where the chunk ends, exclusive
+         * @param arrays
+         *            arrays which aren't used by any chunk at the moment
+         */
+        Chunk(FileChannel channel, long size, long start, long end, Queue<long[]> arrays) {
+            this.channel = channel;
+            this.size = size;
+            this.start = start;
+            this.end = end;
+            this.arrays = arrays;
+        }
+
+        @Override
+        protected void compute() {
+            long from = Math.max(0, start - 1);
+            int length = (int) (Math.min(size, end + MAX_SAMPLE_LENGTH) - from);
+
+            long[] counts = arrays.poll();
+            if (counts == null) {
+                counts = new long[bins + 1];
+            }
+
+            try {
+                count(channel.map(MapMode.READ_ONLY, from, length), (int) (start - from), (int) (end - from), counts);
+            } catch (IOException | NumberFormatException e) {
+                error = e;
+            } finally {
+                arrays.add(counts);
+            }
+        }
+
+        /**
+         * Counts all samples which start between specified indexes of the
+         * buffer. A sample which starts before the chunk belongs to the
+         * previous chunk.
+         * 
+         * @param buffer
+         *            the buffer
+         * @param first
+         *            index of the first byte of the chunk
+         * @param last
+         *            index after the last byte of the chunk
+         * @param counts
+         *            number of samples in each bin
+         */
+        private void count(MappedByteBuffer buffer, int first, int last, long[] counts) {
+            int limit = buffer.limit();
+            int i = first;
+
+            if (i > 0) {
+                while (i < limit && !XYValueParser.isWhitespace(buffer.get(i - 1))) {
+                    i++;
+                }
+            }
+
+            while (true) {
+                while (i < limit && XYValueParser.isWhitespace(buffer.get(i))) {
+                    i++;
+                }
+
+                if (i >= last)
+                    return;
+
+                int tokenStart = i;
+                while (i < limit && !XYValueParser.isWhitespace(buffer.get(i))) {
+                    i++;
+                }
+
+                if (i == limit && start + i - first < size)
+                    throw new NumberFormatException("Sample is longer than " + MAX_SAMPLE_LENGTH + " bytes!");
+
+                counts[binOf(parseInt(buffer, tokenStart, i))]++;
+            }
+        }
+
+        /**
+         * Rethrows the exception thrown while counting, if any.
+         * 
+         * @throws IOException
+         *             if an I/O error occurred while reading the chunk
+         * @throws NumberFormatException
+         *             if the chunk contains an invalid sample
+         */
+        void checkError() throws IOException {
+            if (error instanceof IOException)
+                throw (IOException) error;
+            if (error != null)
+                throw (NumberFormatException) error;
+        }
+    }
+
+    /**
+     * Parses the integer between specified indexes of the buffer.
+     * 
+     * @param buffer
+     *            the buffer
+     * @param start
+     *            index of the first byte, inclusive
+     * @param end
+     *            index of the last byte, exclusive
+     * @return the parsed integer
+     * @throws NumberFormatException
+     *             if bytes aren't a valid integer
+     */
+    private static int parseInt(MappedByteBuffer buffer, int start, int end) {
+        boolean negative = buffer.get(start) == '-';
+        int i = negative || buffer.get(start) == '+' ? start + 1 : start;
+
+        if (i == end)
+            throw new NumberFormatException("Sample has no digits!");
+
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9)
+                throw new NumberFormatException("Invalid character in sample: '" + (char) buffer.get(i) + "'!");
+
+            value = value * 10 + digit;
+            if (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE))
+                throw new NumberFormatException("Sample is out of range of int!");
+        }
+
+        return (int) (negative ? -value : value);
+    }
+}
@@ -0,0 +1,167 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@code LatencyHistogram} class counts non-negative durations in buckets
+ * whose width grows with the duration, like an HDR histogram.
+ * <p>
+ * Durations smaller than {@value #SUB_BUCKETS} are counted exactly. Each
+ * bigger power of two is split into {@value #HALF_SUB_BUCKETS} equal buckets,
+ * so every reported percentile is within about 3% of the real value
+ * while the whole range of {@code long} values fits into less than two
+ * thousand counters. Recording doesn't allocate and can be done from one
+ * thread while other threads read the histogram.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see PaintStatistics
+ */
+public class LatencyHistogram {
+
+    /** Number of bits of a value which select the sub-bucket. */
+    private static final int SUB_BUCKET_BITS = 6;
+    /** Number of values counted exactly. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Number of buckets for each power of two. */
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    /** Number of buckets. */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 2) * HALF_SUB_BUCKETS;
+
+    /** Number of values in each bucket. */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    /** Number of recorded values. */
+    private final AtomicLong count = new AtomicLong();
+    /** Sum of recorded values. */
+    private final AtomicLong sum = new AtomicLong();
+    /** Biggest recorded value. */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records specified value. Negative values are recorded as 0.
+     * 
+     * @param value
+     *            the value
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of recorded values.
+     * 
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the biggest recorded value.
+     * 
+     * @return the biggest recorded value, 0 if there are none
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of recorded values.
+     * 
+     * @return the mean of recorded values, 0 if there are none
+     */
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Returns the value which is bigger than or equal to specified percentage
+     * of recorded values.
+     * 
+     * @param percentile
+     *            the percentage, between 0 and 100
+     * @return the value at specified percentile, 0 if there are no values
+     * @throws IllegalArgumentException
+     *             if percentile isn't between 0 and 100
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100))
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile + "!");
+
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+
+        if (total == 0)
+            return 0;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target)
+                return Math.min(max.get(), highestValueOf(i));
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Returns the bucket of specified value.
+     * 
+     * @param value
+     *            the non-negative value
+     * @return the bucket of specified value
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the biggest value counted in specified bucket.
+     * 
+     * @param bucket
+     *            the bucket
+     * @return the biggest value of the bucket
+     */
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+
+        int shift = bucket / HALF_SUB_BUCKETS - 1;
+        long lowest = (long) (bucket - shift * HALF_SUB_BUCKETS) << shift;
+
+        return lowest + ((1L << shift) - 1);
+    }
+}
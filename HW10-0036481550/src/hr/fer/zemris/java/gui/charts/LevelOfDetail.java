@@ -0,0 +1,26 @@
+package hr.fer.zemris.java.gui.charts;
+
+/**
+ * {@code LevelOfDetail} is a enum class that represents the ways
+ * {@link BarChartComponent} draws bars when there are more x values than
+ * horizontal pixels on the x axis, or when bars would be narrower than one
+ * pixel.
+ * <p>
+ * Except for {@link #OFF}, bars which fall into the same pixel column are
+ * aggregated into one bucket holding their minimum, maximum and sum, and only
+ * one rectangle is drawn for each pixel column.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartComponent
+ */
+public enum LevelOfDetail {
+
+    /** Every bar is drawn on its own. */
+    OFF,
+    /** Each pixel column spans from the minimum to the maximum y value. */
+    ENVELOPE,
+    /** Each pixel column spans from zero to the mean y value. */
+    MEAN;
+
+}
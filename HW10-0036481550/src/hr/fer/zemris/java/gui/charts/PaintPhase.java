@@ -0,0 +1,24 @@
+package hr.fer.zemris.java.gui.charts;
+
+/**
+ * {@code PaintPhase} is a enum class that represents the phases of painting
+ * {@link BarChartComponent} which are timed by {@link PaintStatistics}.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see PaintStatistics
+ */
+public enum PaintPhase {
+
+    /** Computing the axis dimensions, bar rectangles and ticks. */
+    GEOMETRY,
+    /** Drawing the x and y axis. */
+    AXES,
+    /** Drawing the axis labels and numbers. */
+    LABELS,
+    /** Drawing the horizontal and vertical grid lines. */
+    GRID,
+    /** Drawing the bars. */
+    BARS;
+
+}
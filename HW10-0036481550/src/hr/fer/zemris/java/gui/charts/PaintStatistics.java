@@ -0,0 +1,204 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * {@code PaintStatistics} class collects timings of painting a
+ * {@link BarChartComponent}.
+ * <p>
+ * Duration of each {@link PaintPhase} and of each whole frame is recorded into
+ * a {@link LatencyHistogram}. A frame is counted as dropped if it took longer
+ * than the frame budget. Statistics can be published as an MXBean, so they
+ * can be watched with any JMX client, for example JConsole.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartComponent#setPaintStatistics(PaintStatistics)
+ */
+public class PaintStatistics implements PaintStatisticsMXBean {
+
+    /** Default frame budget (in nanoseconds), one frame at 60 frames per second. */
+    private static final long DEFAULT_FRAME_BUDGET = TimeUnit.SECONDS.toNanos(1) / 60;
+
+    /** Nanoseconds in a millisecond. */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /** Durations of each phase. */
+    private final LatencyHistogram[] phases = new LatencyHistogram[PaintPhase.values().length];
+    /** Durations of frames. */
+    private final LatencyHistogram frames = new LatencyHistogram();
+    /** Number of frames which took longer than the frame budget. */
+    private final AtomicLong droppedFrames = new AtomicLong();
+    /** Longest duration (in nanoseconds) of a frame which isn't dropped. */
+    private final long frameBudget;
+
+    /**
+     * Constructs a new {@code PaintStatistics} object with the frame budget of
+     * one frame at 60 frames per second.
+     */
+    public PaintStatistics() {
+        this(DEFAULT_FRAME_BUDGET);
+    }
+
+    /**
+     * Constructs a new {@code PaintStatistics} object with specified frame
+     * budget.
+     * 
+     * @param frameBudget
+     *            longest duration (in nanoseconds) of a frame which isn't
+     *            dropped
+     * @throws IllegalArgumentException
+     *             if frame budget isn't positive
+     */
+    public PaintStatistics(long frameBudget) {
+        if (frameBudget <= 0)
+            throw new IllegalArgumentException("Frame budget must be positive: " + frameBudget + "!");
+
+        this.frameBudget = frameBudget;
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Registers these statistics in the platform MBean server under the name
+     * {@code hr.fer.zemris.java.gui.charts:type=PaintStatistics,name=<name>}.
+     * 
+     * @param name
+     *            name of the chart
+     * @return the object name these statistics were registered under
+     * @throws JMException
+     *             if statistics can't be registered
+     */
+    public ObjectName register(String name) throws JMException {
+        if (name == null)
+            throw new NullPointerException("Name parameter cannot be a null reference!");
+
+        ObjectName objectName = new ObjectName(
+                "hr.fer.zemris.java.gui.charts:type=PaintStatistics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+
+        return objectName;
+    }
+
+    /**
+     * Records the duration of specified phase.
+     * 
+     * @param phase
+     *            the phase
+     * @param nanos
+     *            duration in nanoseconds
+     */
+    public void recordPhase(PaintPhase phase, long nanos) {
+        phases[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records the duration of a frame.
+     * 
+     * @param nanos
+     *            duration in nanoseconds
+     */
+    public void recordFrame(long nanos) {
+        frames.record(nanos);
+
+        if (nanos > frameBudget) {
+            droppedFrames.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the histogram of durations of specified phase.
+     * 
+     * @param phase
+     *            the phase
+     * @return the histogram of durations in nanoseconds
+     */
+    public LatencyHistogram getPhaseHistogram(PaintPhase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    /**
+     * Returns the histogram of frame durations.
+     * 
+     * @return the histogram of durations in nanoseconds
+     */
+    public LatencyHistogram getFrameHistogram() {
+        return frames;
+    }
+
+    @Override
+    public long getFrameCount() {
+        return frames.getCount();
+    }
+
+    @Override
+    public long getDroppedFrameCount() {
+        return droppedFrames.get();
+    }
+
+    @Override
+    public double getFrameMeanMillis() {
+        return frames.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getFrameP99Millis() {
+        return frames.getValueAtPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getFrameMaxMillis() {
+        return frames.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMeanMillis() {
+        return phaseMillis(LatencyHistogram::getMean);
+    }
+
+    @Override
+    public Map<String, Double> getPhaseP99Millis() {
+        return phaseMillis(h -> h.getValueAtPercentile(99));
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMaxMillis() {
+        return phaseMillis(LatencyHistogram::getMax);
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram phase : phases) {
+            phase.reset();
+        }
+
+        frames.reset();
+        droppedFrames.set(0);
+    }
+
+    /**
+     * Returns specified statistic of each phase in milliseconds.
+     * 
+     * @param statistic
+     *            function which returns the statistic in nanoseconds
+     * @return the statistic of each phase keyed by the name of the phase
+     */
+    private Map<String, Double> phaseMillis(ToDoubleFunction<LatencyHistogram> statistic) {
+        Map<String, Double> result = new LinkedHashMap<>();
+
+        for (PaintPhase phase : PaintPhase.values()) {
+            result.put(phase.name(), statistic.applyAsDouble(phases[phase.ordinal()]) / NANOS_PER_MILLI);
+        }
+
+        return result;
+    }
+}
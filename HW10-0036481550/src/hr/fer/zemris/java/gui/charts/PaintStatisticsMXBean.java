@@ -0,0 +1,77 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.util.Map;
+
+/**
+ * {@code PaintStatisticsMXBean} interface represents the management interface
+ * of {@link PaintStatistics}. All durations are in milliseconds and maps are
+ * keyed by the name of the {@link PaintPhase}.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see PaintStatistics
+ */
+public interface PaintStatisticsMXBean {
+
+    /**
+     * Returns the number of painted frames.
+     * 
+     * @return the number of painted frames
+     */
+    long getFrameCount();
+
+    /**
+     * Returns the number of frames which took longer than the frame budget.
+     * 
+     * @return the number of dropped frames
+     */
+    long getDroppedFrameCount();
+
+    /**
+     * Returns the mean duration of a frame.
+     * 
+     * @return the mean duration of a frame
+     */
+    double getFrameMeanMillis();
+
+    /**
+     * Returns the 99th percentile of frame durations.
+     * 
+     * @return the 99th percentile of frame durations
+     */
+    double getFrameP99Millis();
+
+    /**
+     * Returns the longest frame duration.
+     * 
+     * @return the longest frame duration
+     */
+    double getFrameMaxMillis();
+
+    /**
+     * Returns the mean duration of each phase.
+     * 
+     * @return the mean duration of each phase
+     */
+    Map<String, Double> getPhaseMeanMillis();
+
+    /**
+     * Returns the 99th percentile of durations of each phase.
+     * 
+     * @return the 99th percentile of durations of each phase
+     */
+    Map<String, Double> getPhaseP99Millis();
+
+    /**
+     * Returns the longest duration of each phase.
+     * 
+     * @return the longest duration of each phase
+     */
+    Map<String, Double> getPhaseMaxMillis();
+
+    /**
+     * Removes all recorded durations and resets the counters.
+     */
+    void reset();
+
+}
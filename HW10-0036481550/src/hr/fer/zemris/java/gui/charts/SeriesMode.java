@@ -0,0 +1,27 @@
+package hr.fer.zemris.java.gui.charts;
+
+/**
+ * {@code SeriesMode} is a enum class that represents the ways
+ * {@link BarChartComponent} draws charts with more than one series of y
+ * values.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartComponent
+ */
+public enum SeriesMode {
+
+    /**
+     * Bars of all series with the same x value are drawn next to each other.
+     * When bars are aggregated by the level of detail, each pixel column of a
+     * bucket belongs to one series, so a bucket is as many pixels wide as
+     * there are series.
+     */
+    GROUPED,
+    /**
+     * Bars of all series with the same x value are drawn on top of each other,
+     * positive values above zero and negative values below it.
+     */
+    STACKED;
+
+}
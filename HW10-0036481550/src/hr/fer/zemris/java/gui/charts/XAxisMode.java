@@ -0,0 +1,24 @@
+package hr.fer.zemris.java.gui.charts;
+
+/**
+ * {@code XAxisMode} is a enum class that represents the ways
+ * {@link BarChartComponent} places bars along the x axis.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see BarChartComponent
+ */
+public enum XAxisMode {
+
+    /**
+     * Every integer between the smallest and the biggest x value gets the same
+     * space, so gaps between x values are shown.
+     */
+    CONTINUOUS,
+    /**
+     * Every bar gets the same space no matter how far apart x values are, so
+     * widely spaced x values are shown next to each other.
+     */
+    CATEGORICAL;
+
+}
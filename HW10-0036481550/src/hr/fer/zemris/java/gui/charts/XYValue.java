@@ -51,17 +51,18 @@ public class XYValue {
      * @param s
      *            the string representing {@code XYValue} object
      * @return {@code XYValue} object
+     * @throws NumberFormatException
+     *             if specified string is not a valid pair
+     * @see XYValueParser
      */
     public static XYValue valueOf(String s) {
         if (s == null)
             throw new NullPointerException("You cannot pass a null reference as a parameter!");
 
-        String[] tmp = s.trim().split("\\s*,\\s*");
+        XYValueParser parser = new XYValueParser();
+        parser.parse(s);
 
-        int x = Integer.valueOf(tmp[0]);
-        int y = Integer.valueOf(tmp[1]);
-
-        return new XYValue(x, y);
+        return new XYValue(parser.getX(), parser.getY());
     }
 
     @Override
@@ -0,0 +1,308 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@code XYValueParser} class parses x and y pairs of format {@code "x,y"}
+ * without allocating any objects.
+ * <p>
+ * Parser accepts the same input as {@link XYValue#valueOf(String)}: leading
+ * and trailing control characters and spaces are ignored, there can be any
+ * whitespace around the comma and everything after a comma that follows the y
+ * value is ignored. Values are read character by character and stored in this
+ * object, so one parser can be reused for any number of pairs. Use
+ * {@link #getX()} and {@link #getY()} to get the values of the last parsed
+ * pair.
+ * <p>
+ * Parser is not thread safe.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see XYValue
+ */
+public class XYValueParser {
+
+    /** State: skipping leading control characters and spaces. */
+    private static final int LEADING = 0;
+    /** State: reading the x value. */
+    private static final int X_VALUE = 1;
+    /** State: skipping whitespace between the x value and the comma. */
+    private static final int AFTER_X = 2;
+    /** State: skipping whitespace between the comma and the y value. */
+    private static final int BEFORE_Y = 3;
+    /** State: reading the y value. */
+    private static final int Y_VALUE = 4;
+    /** State: skipping whitespace after the y value. */
+    private static final int AFTER_Y = 5;
+    /** State: only control characters and spaces are allowed. */
+    private static final int TRAILING = 6;
+    /** State: ignoring everything after the comma that follows the y value. */
+    private static final int REST = 7;
+
+    /** Absolute value of the smallest integer. */
+    private static final long MIN_VALUE_ABS = -(long) Integer.MIN_VALUE;
+
+    /** Current state. */
+    private int state;
+    /** Absolute value of the number being read. */
+    private long number;
+    /** Flag that indicates whether the number being read is negative. */
+    private boolean negative;
+    /** Flag that indicates whether the number being read has a sign. */
+    private boolean signed;
+    /** Number of digits of the number being read. */
+    private int digits;
+
+    /** Last parsed x value. */
+    private int x;
+    /** Last parsed y value. */
+    private int y;
+
+    /**
+     * Parses the specified {@code CharSequence}.
+     * 
+     * @param s
+     *            the string representing x and y pair
+     * @throws NumberFormatException
+     *             if specified string is not a valid pair
+     */
+    public void parse(CharSequence s) {
+        if (s == null)
+            throw new NullPointerException("You cannot pass a null reference as a parameter!");
+
+        parse(s, 0, s.length());
+    }
+
+    /**
+     * Parses the specified part of the {@code CharSequence}.
+     * 
+     * @param s
+     *            the string containing x and y pair
+     * @param start
+     *            index of the first character of the pair
+     * @param end
+     *            index after the last character of the pair
+     * @throws NumberFormatException
+     *             if specified part of the string is not a valid pair
+     */
+    public void parse(CharSequence s, int start, int end) {
+        reset();
+
+        for (int i = start; i < end; i++) {
+            accept(s.charAt(i));
+        }
+
+        finish();
+    }
+
+    /**
+     * Parses the specified part of the {@code ByteBuffer}. Each byte is
+     * treated as one character, so digits have to be ASCII digits. Position of
+     * the buffer is not changed.
+     * 
+     * @param buffer
+     *            the buffer containing x and y pair
+     * @param start
+     *            index of the first byte of the pair
+     * @param end
+     *            index after the last byte of the pair
+     * @throws NumberFormatException
+     *             if specified part of the buffer is not a valid pair
+     */
+    public void parse(ByteBuffer buffer, int start, int end) {
+        reset();
+
+        for (int i = start; i < end; i++) {
+            accept(buffer.get(i) & 0xFF);
+        }
+
+        finish();
+    }
+
+    /**
+     * Returns the last parsed x value.
+     * 
+     * @return the last parsed x value
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Returns the last parsed y value.
+     * 
+     * @return the last parsed y value
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Prepares this parser for a new pair.
+     */
+    void reset() {
+        state = LEADING;
+    }
+
+    /**
+     * Processes the next character of the pair.
+     * 
+     * @param c
+     *            the character
+     * @throws NumberFormatException
+     *             if character is not allowed at this position
+     */
+    void accept(int c) {
+        switch (state) {
+        case LEADING:
+            if (c > ' ') {
+                startNumber();
+                readNumberChar(c);
+                state = X_VALUE;
+            }
+            break;
+        case X_VALUE:
+            if (c == ',') {
+                x = endNumber();
+                state = BEFORE_Y;
+            } else if (isWhitespace(c)) {
+                x = endNumber();
+                state = AFTER_X;
+            } else {
+                readNumberChar(c);
+            }
+            break;
+        case AFTER_X:
+            if (c == ',') {
+                state = BEFORE_Y;
+            } else if (!isWhitespace(c)) {
+                throw new NumberFormatException("Expected a comma after the x value!");
+            }
+            break;
+        case BEFORE_Y:
+            if (!isWhitespace(c)) {
+                startNumber();
+                readNumberChar(c);
+                state = Y_VALUE;
+            }
+            break;
+        case Y_VALUE:
+            if (c == ',') {
+                y = endNumber();
+                state = REST;
+            } else if (isWhitespace(c)) {
+                y = endNumber();
+                state = AFTER_Y;
+            } else if (c <= ' ') {
+                y = endNumber();
+                state = TRAILING;
+            } else {
+                readNumberChar(c);
+            }
+            break;
+        case AFTER_Y:
+            if (c == ',') {
+                state = REST;
+            } else if (c > ' ') {
+                throw new NumberFormatException("Unexpected character '" + (char) c + "' after the y value!");
+            } else if (!isWhitespace(c)) {
+                state = TRAILING;
+            }
+            break;
+        case TRAILING:
+            if (c > ' ')
+                throw new NumberFormatException("Unexpected character '" + (char) c + "' after the y value!");
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Finishes the pair.
+     * 
+     * @throws NumberFormatException
+     *             if pair is not complete
+     */
+    void finish() {
+        switch (state) {
+        case Y_VALUE:
+            y = endNumber();
+            break;
+        case AFTER_Y:
+        case TRAILING:
+        case REST:
+            break;
+        case LEADING:
+            throw new NumberFormatException("Pair cannot be empty!");
+        default:
+            throw new NumberFormatException("Pair is missing the y value!");
+        }
+    }
+
+    /**
+     * Resets the number which is currently being read.
+     */
+    private void startNumber() {
+        number = 0;
+        negative = false;
+        signed = false;
+        digits = 0;
+    }
+
+    /**
+     * Processes one character of a number.
+     * 
+     * @param c
+     *            the character
+     * @throws NumberFormatException
+     *             if character is not a digit or a sign at the beginning
+     */
+    private void readNumberChar(int c) {
+        if (digits == 0 && !signed && (c == '-' || c == '+')) {
+            signed = true;
+            negative = c == '-';
+            return;
+        }
+
+        int digit = c >= '0' && c <= '9' ? c - '0' : Character.digit(c, 10);
+        if (digit < 0)
+            throw new NumberFormatException("Invalid character '" + (char) c + "' in a number!");
+
+        number = number * 10 + digit;
+        digits++;
+
+        if (number > MIN_VALUE_ABS)
+            throw new NumberFormatException("Number is out of the integer range!");
+    }
+
+    /**
+     * Returns the number which was read.
+     * 
+     * @return the number which was read
+     * @throws NumberFormatException
+     *             if number has no digits or is out of the integer range
+     */
+    private int endNumber() {
+        if (digits == 0)
+            throw new NumberFormatException("Number has no digits!");
+
+        if (!negative && number > Integer.MAX_VALUE)
+            throw new NumberFormatException("Number is out of the integer range!");
+
+        return (int) (negative ? -number : number);
+    }
+
+    /**
+     * Checks if specified character is a whitespace character as defined by
+     * {@code \s} in regular expressions.
+     * 
+     * @param c
+     *            the character
+     * @return {@code true} if specified character is a whitespace character;
+     *         {@code false} otherwise
+     */
+    static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0x0B;
+    }
+}
@@ -5,13 +5,18 @@ import java.awt.Color;
 import java.awt.Container;
 import java.awt.Font;
 import java.awt.GridLayout;
+import java.awt.event.ActionListener;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListModel;
 import javax.swing.SwingUtilities;
 
 /**
@@ -30,20 +35,42 @@ public class PrimDemo extends JFrame {
     private static final int WINDOW_WIDTH = 500;
     /** Window height. */
     private static final int WINDOW_HEIGHT = 500;
+    /** Number of prime numbers generated in the background at once. */
+    private static final int BACKGROUND_COUNT = 1_000_000;
+    /** Command-line option which shows all primes with a virtual model. */
+    private static final String VIRTUAL_OPTION = "--virtual";
 
-    /** Prime list model. */
+    /** Prime list model, {@code null} if the virtual model is shown. */
     private PrimListModel model;
 
+    /** Virtual prime list model, {@code null} if it isn't shown. */
+    private VirtualPrimListModel virtualModel;
+
     /**
      * Constructs a new {@code PrimDemo} object.
      */
     public PrimDemo() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new {@code PrimDemo} object which shows either the primes
+     * generated so far or all primes with a virtual model.
+     * 
+     * @param virtual
+     *            {@code true} if all primes are shown with a virtual model
+     */
+    public PrimDemo(boolean virtual) {
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         setTitle("PrimDemo");
         setSize(WINDOW_WIDTH, WINDOW_HEIGHT);
         setLocationRelativeTo(null);
 
-        model = new PrimListModel();
+        if (virtual) {
+            virtualModel = new VirtualPrimListModel();
+        } else {
+            model = new PrimListModel();
+        }
 
         initGUI();
     }
@@ -54,14 +81,18 @@ public class PrimDemo extends JFrame {
     private void initGUI() {
         Container cp = getContentPane();
         cp.setLayout(new BorderLayout());
-        JButton nextButton = new JButton("Next");
-        nextButton.addActionListener(x -> model.next());
-        cp.add(nextButton, BorderLayout.SOUTH);
 
-        JPanel panel = new JPanel(new GridLayout(1, 2));
+        ListModel<Integer> listModel = model != null ? model : virtualModel;
+        JList<Integer> list1 = new JList<>(listModel);
+        JList<Integer> list2 = new JList<>(listModel);
+
+        if (model != null) {
+            cp.add(createGeneratePanel(), BorderLayout.SOUTH);
+        } else {
+            cp.add(createJumpPanel(list1, list2), BorderLayout.SOUTH);
+        }
 
-        JList<Integer> list1 = new JList<>(model);
-        JList<Integer> list2 = new JList<>(model);
+        JPanel panel = new JPanel(new GridLayout(1, 2));
 
         list1.setVisible(true);
         list2.setVisible(true);
@@ -72,20 +103,110 @@ public class PrimDemo extends JFrame {
         list1.setFont(new Font(null, Font.PLAIN, 26));
         list2.setFont(new Font(null, Font.PLAIN, 26));
 
+        list1.setPrototypeCellValue(Integer.MAX_VALUE);
+        list2.setPrototypeCellValue(Integer.MAX_VALUE);
+
         panel.add(new JScrollPane(list1));
         panel.add(new JScrollPane(list2));
 
         cp.add(panel);
     }
 
+    /**
+     * Creates the panel with buttons which generate the next primes.
+     * 
+     * @return the panel
+     */
+    private JPanel createGeneratePanel() {
+        JButton nextButton = new JButton("Next");
+        JButton moreButton = new JButton("Next " + BACKGROUND_COUNT);
+        JButton cancelButton = new JButton("Cancel");
+        JProgressBar progressBar = new JProgressBar(0, BACKGROUND_COUNT);
+
+        cancelButton.setEnabled(false);
+        progressBar.setStringPainted(true);
+
+        nextButton.addActionListener(x -> model.next());
+        moreButton.addActionListener(x -> {
+            nextButton.setEnabled(false);
+            moreButton.setEnabled(false);
+            cancelButton.setEnabled(true);
+            progressBar.setValue(0);
+
+            model.generate(BACKGROUND_COUNT, generated -> {
+                progressBar.setValue(generated);
+
+                if (!model.isGenerating()) {
+                    nextButton.setEnabled(true);
+                    moreButton.setEnabled(true);
+                    cancelButton.setEnabled(false);
+                }
+            });
+        });
+        cancelButton.addActionListener(x -> model.cancel());
+
+        JPanel buttons = new JPanel(new GridLayout(1, 3));
+        buttons.add(nextButton);
+        buttons.add(moreButton);
+        buttons.add(cancelButton);
+
+        JPanel south = new JPanel(new BorderLayout());
+        south.add(buttons, BorderLayout.CENTER);
+        south.add(progressBar, BorderLayout.SOUTH);
+
+        return south;
+    }
+
+    /**
+     * Creates the panel which scrolls both lists to the prime at the entered
+     * index.
+     * 
+     * @param list1
+     *            the first list
+     * @param list2
+     *            the second list
+     * @return the panel
+     */
+    private JPanel createJumpPanel(JList<Integer> list1, JList<Integer> list2) {
+        JTextField indexField = new JTextField();
+        JButton jumpButton = new JButton("Go to");
+
+        ActionListener jump = x -> {
+            int index;
+            try {
+                index = Integer.parseInt(indexField.getText().trim());
+            } catch (NumberFormatException e) {
+                return;
+            }
+
+            if (index < 0 || index >= virtualModel.getSize())
+                return;
+
+            list1.setSelectedIndex(index);
+            list1.ensureIndexIsVisible(index);
+            list2.setSelectedIndex(index);
+            list2.ensureIndexIsVisible(index);
+        };
+        jumpButton.addActionListener(jump);
+        indexField.addActionListener(jump);
+
+        JPanel south = new JPanel(new BorderLayout());
+        south.add(new JLabel("Index: "), BorderLayout.WEST);
+        south.add(indexField, BorderLayout.CENTER);
+        south.add(jumpButton, BorderLayout.EAST);
+
+        return south;
+    }
+
     /**
      * Starting point of a program.
      * 
      * @param args
-     *            Command-line argument
+     *            Command-line argument, {@value #VIRTUAL_OPTION} shows all
+     *            primes with a virtual model
      */
     public static void main(String[] args) {
-        PrimDemo primDemo = new PrimDemo();
+        PrimDemo primDemo = new PrimDemo(args.length == 1 && args[0].equals(VIRTUAL_OPTION));
 
         SwingUtilities.invokeLater(() -> primDemo.setVisible(true));
     }
@@ -1,15 +1,36 @@
 package hr.fer.zemris.java.gui.prim;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
 
 import javax.swing.ListModel;
+import javax.swing.SwingUtilities;
 import javax.swing.event.ListDataEvent;
 import javax.swing.event.ListDataListener;
 
 /**
  * {@code PrimListModel} class is a implementation of a {@link ListModel}
  * interface and provides prime numbers to JList.
+ * <p>
+ * Prime numbers are cached in a growable {@code int} array, so a cached prime
+ * takes 4 bytes. They are boxed only when JList asks for an element through
+ * {@link #getElementAt(int)}, while {@link #getPrime(int)} returns them
+ * without boxing.
+ * <p>
+ * Prime numbers can be generated on the event dispatch thread with
+ * {@link #next(int)} and {@link #advanceTo(long)}, or on a background executor
+ * with {@link #generate(int, IntConsumer)}. A background generation sieves
+ * blocks of primes and publishes them to the event dispatch thread in batches:
+ * at most one publication is waiting on the event queue at a time, and it
+ * takes all primes generated until it runs. When a generation finishes, the
+ * next primes are sieved ahead, so the following request only copies them.
+ * Except for the background generation, this class must be used only on the
+ * event dispatch thread.
  * 
  * @author Karlo Vrbić
  * @version 1.0
@@ -20,76 +41,278 @@ public class PrimListModel implements ListModel<Integer> {
     /** List of all listeners. */
     private List<ListDataListener> listeners;
 
-    /** List of all previous prime numbers. */
-    private List<Integer> cache;
+    /** Initial capacity of the cache. */
+    private static final int INITIAL_CAPACITY = 1024;
+    /** Number of prime numbers the producer sieves at once. */
+    private static final int BLOCK_SIZE = 1 << 16;
+    /** Number of prime numbers sieved ahead after a background generation. */
+    private static final int PREFETCH_SIZE = 1 << 16;
 
-    /** Current prime number. */
-    private int current;
+    /** All previous prime numbers. */
+    private int[] cache;
+
+    /** Number of prime numbers in the cache. */
+    private int size;
+
+    /** Sieve which generates the next prime numbers, also used as a lock. */
+    private PrimeSieve sieve;
+
+    /** Executor of background generations, {@code null} until needed. */
+    private ExecutorService executor;
+
+    /** Running background generation, {@code null} if there is none. */
+    private Generation generation;
 
     /**
      * Constructs a new {@code PrimListModel} object with starting prime 1.
+     * Background generations run on a daemon thread created when the first
+     * one starts.
      */
     public PrimListModel() {
-        cache = new ArrayList<>();
+        cache = new int[INITIAL_CAPACITY];
         listeners = new ArrayList<>();
+        sieve = new PrimeSieve();
+
+        cache[size++] = 1;
+    }
+
+    /**
+     * Constructs a new {@code PrimListModel} object with starting prime 1
+     * whose background generations run on specified executor. The first
+     * primes are sieved ahead right away.
+     * 
+     * @param executor
+     *            the executor
+     */
+    public PrimListModel(ExecutorService executor) {
+        this();
+
+        if (executor == null)
+            throw new NullPointerException("Executor parameter cannot be a null reference!");
 
-        current = 1;
-        cache.add(1);
+        this.executor = executor;
+        executor.execute(this::prefetch);
     }
 
     /**
      * Returns the next prime number and notifies the listeners.
      * 
      * @return the next prime number
+     * @throws NoSuchElementException
+     *             if there are no more prime numbers in the range of int
+     * @throws IllegalStateException
+     *             if a background generation is running
      */
     public int next() {
-        int i = current;
+        if (appendPrimes(1, Integer.MAX_VALUE) == 0)
+            throw new NoSuchElementException("There are no more primes in the range of int!");
 
-        while (true) {
-            i++;
+        return cache[size - 1];
+    }
 
-            if (isPrime(i)) {
-                current = i;
-                cache.add(i);
+    /**
+     * Generates specified number of next prime numbers and notifies the
+     * listeners with a single event for all of them.
+     * 
+     * @param count
+     *            the number of prime numbers
+     * @return the number of generated prime numbers, smaller than
+     *         {@code count} only if there are no more prime numbers in the
+     *         range of int
+     * @throws IllegalArgumentException
+     *             if count is negative
+     * @throws IllegalStateException
+     *             if a background generation is running
+     */
+    public int next(int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count cannot be negative: " + count + "!");
 
-                int index = cache.size() - 1;
+        return appendPrimes(count, Integer.MAX_VALUE);
+    }
 
-                listeners.forEach(
-                        x -> x.intervalAdded(
-                                new ListDataEvent(this, ListDataEvent.INTERVAL_ADDED, index, index)));
+    /**
+     * Starts generating specified number of next prime numbers on the
+     * background executor. Generated primes are published in batches on the
+     * event dispatch thread, and after each batch the progress consumer is
+     * called with the number of primes published so far. The last call is
+     * made when the generation is finished, so {@link #isGenerating()} is
+     * already {@code false}.
+     * 
+     * @param count
+     *            the number of prime numbers
+     * @param progress
+     *            consumer of the progress, can be {@code null}
+     * @throws IllegalArgumentException
+     *             if count is negative
+     * @throws IllegalStateException
+     *             if a background generation is already running
+     */
+    public void generate(int count, IntConsumer progress) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count cannot be negative: " + count + "!");
+
+        checkNotGenerating();
 
-                return i;
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "PrimListModel-producer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        generation = new Generation(count, progress);
+        executor.execute(generation);
+    }
+
+    /**
+     * Stops the running background generation. Primes which are already
+     * generated are still published.
+     */
+    public void cancel() {
+        if (generation != null) {
+            generation.cancelled = true;
+        }
+    }
+
+    /**
+     * Checks if a background generation is running.
+     * 
+     * @return {@code true} if a background generation is running;
+     *         {@code false} otherwise
+     */
+    public boolean isGenerating() {
+        return generation != null;
+    }
+
+    /**
+     * Generates all next prime numbers up to specified bound and notifies the
+     * listeners with a single event for all of them.
+     * 
+     * @param bound
+     *            the biggest number which can be generated, inclusive
+     * @return the number of generated prime numbers
+     * @throws IllegalStateException
+     *             if a background generation is running
+     */
+    public int advanceTo(long bound) {
+        if (bound < 2)
+            return 0;
+
+        return appendPrimes(Integer.MAX_VALUE, (int) Math.min(bound, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Appends at most {@code count} next prime numbers up to specified bound
+     * to the cache, and notifies the listeners about the whole added interval
+     * with one event.
+     * 
+     * @param count
+     *            the maximum number of prime numbers
+     * @param bound
+     *            the biggest prime number, inclusive
+     * @return the number of added prime numbers
+     */
+    private int appendPrimes(int count, int bound) {
+        checkNotGenerating();
+        int first = size;
+
+        synchronized (sieve) {
+            while (size - first < count) {
+                ensureCapacity(size + 1);
+
+                int added = sieve.next(cache, size, Math.min(cache.length - size, count - (size - first)), bound);
+                if (added == 0)
+                    break;
+
+                size += added;
             }
         }
+
+        fireIntervalAdded(first, size - 1);
+
+        return size - first;
+    }
+
+    /**
+     * Sieves the next prime numbers ahead.
+     */
+    private void prefetch() {
+        synchronized (sieve) {
+            sieve.prefetch(PREFETCH_SIZE);
+        }
     }
 
     /**
-     * Checks if specified number is a prime number.
+     * Checks that no background generation is running.
      * 
-     * @param number
-     *            the number which this method will check
-     * @return {@code true} if specified number is a prime number; {@code false}
-     *         otherwise
+     * @throws IllegalStateException
+     *             if a background generation is running
      */
-    private static boolean isPrime(int number) {
-        if (number % 2 == 0 && number != 2)
-            return false;
+    private void checkNotGenerating() {
+        if (generation != null)
+            throw new IllegalStateException("Prime numbers are already being generated in the background!");
+    }
+
+    /**
+     * Notifies the listeners that prime numbers between specified indexes were
+     * added, with one event shared by all listeners. Nothing is fired if the
+     * interval is empty.
+     * 
+     * @param index0
+     *            index of the first added prime number
+     * @param index1
+     *            index of the last added prime number
+     */
+    private void fireIntervalAdded(int index0, int index1) {
+        if (index1 < index0)
+            return;
+
+        ListDataEvent event = new ListDataEvent(this, ListDataEvent.INTERVAL_ADDED, index0, index1);
+
+        for (ListDataListener listener : listeners) {
+            listener.intervalAdded(event);
+        }
+    }
 
-        for (int i = 3; i * i <= number; i += 2)
-            if (number % i == 0)
-                return false;
+    /**
+     * Grows the cache, if needed, so it can hold specified number of primes.
+     * 
+     * @param capacity
+     *            the number of primes
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= cache.length)
+            return;
 
-        return true;
+        cache = Arrays.copyOf(cache, Math.max(capacity, cache.length + (cache.length >> 1)));
+    }
+
+    /**
+     * Returns the prime number at specified index without boxing it.
+     * 
+     * @param index
+     *            the index
+     * @return the prime number at specified index
+     * @throws IndexOutOfBoundsException
+     *             if index is negative or isn't smaller than the size
+     */
+    public int getPrime(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+
+        return cache[index];
     }
 
     @Override
     public int getSize() {
-        return cache.size();
+        return size;
     }
 
     @Override
     public Integer getElementAt(int index) {
-        return cache.get(index);
+        return getPrime(index);
     }
 
     @Override
@@ -107,4 +330,131 @@ public class PrimListModel implements ListModel<Integer> {
 
         listeners.remove(l);
     }
+
+    /**
+     * {@code Generation} class represents a background generation which sieves
+     * blocks of prime numbers and publishes them on the event dispatch thread.
+     * 
+     * @author Karlo Vrbić
+     * @version 1.0
+     */
+    private class Generation implements Runnable {
+
+        /** Number of prime numbers to generate. */
+        private final int count;
+        /** Consumer of the progress, {@code null} if there is none. */
+        private final IntConsumer progress;
+
+        /** Flag which stops the generation. */
+        private volatile boolean cancelled;
+
+        /** Generated prime numbers which aren't published yet. */
+        private int[] pending = new int[BLOCK_SIZE];
+        /** Number of prime numbers which aren't published yet. */
+        private int pendingCount;
+        /** Flag which tells if a publication is waiting on the event queue. */
+        private boolean scheduled;
+        /** Flag which tells if all prime numbers are generated. */
+        private boolean finished;
+
+        /** Number of published prime numbers, used on the event dispatch thread. */
+        private int published;
+
+        /**
+         * Constructs a new {@code Generation} object.
+         * 
+         * @param count
+         *            number of prime numbers to generate
+         * @param progress
+         *            consumer of the progress, can be {@code null}
+         */
+        Generation(int count, IntConsumer progress) {
+            this.count = count;
+            this.progress = progress;
+        }
+
+        @Override
+        public void run() {
+            int[] block = new int[BLOCK_SIZE];
+            int remaining = count;
+
+            try {
+                while (remaining > 0 && !cancelled) {
+                    int added;
+                    synchronized (sieve) {
+                        added = sieve.next(block, 0, Math.min(BLOCK_SIZE, remaining));
+                    }
+
+                    if (added == 0)
+                        break;
+
+                    remaining -= added;
+                    offer(block, added, false);
+                }
+            } finally {
+                offer(block, 0, true);
+            }
+
+            if (!cancelled) {
+                prefetch();
+            }
+        }
+
+        /**
+         * Adds specified prime numbers to the pending ones and schedules a
+         * publication if none is waiting.
+         * 
+         * @param block
+         *            the prime numbers
+         * @param length
+         *            number of prime numbers in the block
+         * @param last
+         *            {@code true} if all prime numbers are generated
+         */
+        private synchronized void offer(int[] block, int length, boolean last) {
+            if (pendingCount + length > pending.length) {
+                pending = Arrays.copyOf(pending,
+                        Math.max(pendingCount + length, pending.length + (pending.length >> 1)));
+            }
+
+            System.arraycopy(block, 0, pending, pendingCount, length);
+            pendingCount += length;
+            finished |= last;
+
+            if (!scheduled) {
+                scheduled = true;
+                SwingUtilities.invokeLater(this::publish);
+            }
+        }
+
+        /**
+         * Appends all pending prime numbers to the cache with one event and
+         * reports the progress. Called on the event dispatch thread.
+         */
+        private void publish() {
+            int first = size;
+            boolean last;
+
+            synchronized (this) {
+                ensureCapacity(size + pendingCount);
+                System.arraycopy(pending, 0, cache, size, pendingCount);
+                size += pendingCount;
+
+                pendingCount = 0;
+                scheduled = false;
+                last = finished;
+            }
+
+            if (last) {
+                generation = null;
+            }
+
+            fireIntervalAdded(first, size - 1);
+            published += size - first;
+
+            if (progress != null) {
+                progress.accept(published);
+            }
+        }
+    }
 }
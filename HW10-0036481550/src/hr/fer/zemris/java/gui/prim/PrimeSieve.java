@@ -0,0 +1,353 @@
+package hr.fer.zemris.java.gui.prim;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * {@code PrimeSieve} class generates prime numbers in ascending order using a
+ * segmented Sieve of Eratosthenes.
+ * <p>
+ * Numbers are sieved one segment at a time. A segment is a buffer of
+ * {@value #SEGMENT_BYTES} bytes, small enough to stay in the processor cache.
+ * Each byte holds the 8 numbers of one block of 30 consecutive numbers which
+ * aren't divisible by 2, 3 or 5 (wheel of 30), so one segment covers
+ * {@value #SEGMENT_SPAN} numbers and multiples of 2, 3 and 5 are never
+ * sieved. Only multiples of a prime which aren't divisible by 2, 3 or 5 are
+ * crossed off, by stepping through the same wheel.
+ * <p>
+ * Primes of a sieved segment are extracted into a buffer and returned one by
+ * one by {@link #next()} or in blocks by {@link #next(int[], int, int)}. All
+ * primes up to {@link Integer#MAX_VALUE} can be generated. Primes can be
+ * sieved ahead of time with {@link #prefetch(int)}, so later calls only copy
+ * them.
+ * <p>
+ * This class isn't thread safe.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see PrimListModel
+ */
+public class PrimeSieve {
+
+    /** Size (in bytes) of the segment buffer. */
+    public static final int SEGMENT_BYTES = 32 * 1024;
+    /** Number of numbers in one byte of the segment. */
+    static final int WHEEL = 30;
+    /** Number of numbers in one segment. */
+    public static final long SEGMENT_SPAN = (long) WHEEL * SEGMENT_BYTES;
+
+    /** Numbers in a block of 30 which aren't divisible by 2, 3 or 5. */
+    private static final int[] RESIDUES = { 1, 7, 11, 13, 17, 19, 23, 29 };
+    /** Differences between adjacent numbers which aren't divisible by 2, 3 or 5. */
+    private static final int[] GAPS = { 6, 4, 2, 4, 2, 4, 6, 2 };
+    /** Bit of each number in a block of 30, -1 if it's divisible by 2, 3 or 5. */
+    private static final int[] BITS = new int[WHEEL];
+    /** Primes which aren't in the wheel. */
+    private static final int[] WHEEL_PRIMES = { 2, 3, 5 };
+
+    /** Biggest prime needed for sieving numbers up to {@link Integer#MAX_VALUE}. */
+    private static final int MAX_SIEVING_PRIME = 46341;
+    /** Primes from 7 to {@value #MAX_SIEVING_PRIME} used for sieving. */
+    private static final int[] SIEVING_PRIMES;
+
+    /** Initial capacity of the buffer of extracted primes. */
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    static {
+        Arrays.fill(BITS, -1);
+        for (int i = 0; i < RESIDUES.length; i++) {
+            BITS[RESIDUES[i]] = i;
+        }
+
+        boolean[] composite = new boolean[MAX_SIEVING_PRIME + 1];
+        int[] primes = new int[MAX_SIEVING_PRIME];
+        int count = 0;
+        for (int i = 2; i <= MAX_SIEVING_PRIME; i++) {
+            if (composite[i])
+                continue;
+
+            if (i > WHEEL_PRIMES[WHEEL_PRIMES.length - 1]) {
+                primes[count++] = i;
+            }
+            for (long j = (long) i * i; j <= MAX_SIEVING_PRIME; j += i) {
+                composite[(int) j] = true;
+            }
+        }
+        SIEVING_PRIMES = Arrays.copyOf(primes, count);
+    }
+
+    /** Bits of numbers of the current segment, set if the number is prime. */
+    private final byte[] segment = new byte[SEGMENT_BYTES];
+    /** First number of the next segment, a multiple of 30. */
+    private long nextSegmentStart;
+    /** Smallest prime which can be returned. */
+    private final long start;
+
+    /** Sieved primes which weren't returned yet, starting at the position. */
+    private int[] primes = new int[INITIAL_CAPACITY];
+    /** Number of sieved primes in the buffer. */
+    private int count;
+    /** Index of the next returned prime in the buffer. */
+    private int position;
+
+    /**
+     * Constructs a new {@code PrimeSieve} object which starts with prime 2.
+     */
+    public PrimeSieve() {
+        this(0);
+    }
+
+    /**
+     * Constructs a new {@code PrimeSieve} object which starts with the
+     * smallest prime bigger than or equal to specified number.
+     * 
+     * @param start
+     *            the number
+     * @throws IllegalArgumentException
+     *             if number is negative or bigger than
+     *             {@link Integer#MAX_VALUE}
+     */
+    public PrimeSieve(long start) {
+        if (start < 0 || start > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid start of the sieve: " + start + "!");
+
+        this.start = start;
+        this.nextSegmentStart = start / WHEEL * WHEEL;
+
+        if (nextSegmentStart == 0) {
+            for (int prime : WHEEL_PRIMES) {
+                if (prime >= start) {
+                    primes[count++] = prime;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if there are more primes up to {@link Integer#MAX_VALUE}.
+     * 
+     * @return {@code true} if there are more primes; {@code false} otherwise
+     */
+    public boolean hasNext() {
+        while (position == count) {
+            if (nextSegmentStart > Integer.MAX_VALUE)
+                return false;
+
+            sieveNextSegment();
+        }
+
+        return true;
+    }
+
+    /**
+     * Sieves the next segments until at least specified number of primes is
+     * sieved ahead, or there are no more primes up to
+     * {@link Integer#MAX_VALUE}.
+     * 
+     * @param count
+     *            the number of primes
+     */
+    public void prefetch(int count) {
+        while (this.count - position < count && nextSegmentStart <= Integer.MAX_VALUE) {
+            sieveNextSegment();
+        }
+    }
+
+    /**
+     * Returns the number of primes which are sieved ahead.
+     * 
+     * @return the number of sieved primes which weren't returned yet
+     */
+    public int getPrefetchedCount() {
+        return count - position;
+    }
+
+    /**
+     * Returns the next prime.
+     * 
+     * @return the next prime
+     * @throws NoSuchElementException
+     *             if there are no more primes up to {@link Integer#MAX_VALUE}
+     */
+    public int next() {
+        if (!hasNext())
+            throw new NoSuchElementException("There are no more primes in the range of int!");
+
+        return primes[position++];
+    }
+
+    /**
+     * Copies the next primes into specified array.
+     * 
+     * @param destination
+     *            the array
+     * @param offset
+     *            index of the first copied prime in the array
+     * @param length
+     *            maximum number of copied primes
+     * @return the number of copied primes, smaller than {@code length} only if
+     *         there are no more primes up to {@link Integer#MAX_VALUE}
+     */
+    public int next(int[] destination, int offset, int length) {
+        return next(destination, offset, length, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Copies the next primes up to specified bound into specified array.
+     * Primes bigger than the bound are left for later calls.
+     * 
+     * @param destination
+     *            the array
+     * @param offset
+     *            index of the first copied prime in the array
+     * @param length
+     *            maximum number of copied primes
+     * @param bound
+     *            the biggest copied prime, inclusive
+     * @return the number of copied primes, smaller than {@code length} only if
+     *         there are no more primes up to the bound
+     */
+    public int next(int[] destination, int offset, int length, int bound) {
+        if (destination == null)
+            throw new NullPointerException("Destination cannot be a null reference!");
+
+        if (offset < 0 || length < 0 || offset + length > destination.length)
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length);
+
+        int copied = 0;
+        while (copied < length && hasNext() && primes[position] <= bound) {
+            int end = primes[count - 1] <= bound ? count : upperBound(bound);
+            int n = Math.min(length - copied, end - position);
+
+            System.arraycopy(primes, position, destination, offset + copied, n);
+            position += n;
+            copied += n;
+        }
+
+        return copied;
+    }
+
+    /**
+     * Returns the index of the first sieved prime which is bigger than
+     * specified bound.
+     * 
+     * @param bound
+     *            the bound
+     * @return the index of the first prime bigger than the bound
+     */
+    private int upperBound(int bound) {
+        int index = Arrays.binarySearch(primes, position, count, bound);
+
+        return index < 0 ? -index - 1 : index + 1;
+    }
+
+    /**
+     * Sieves the next segment and appends its primes to the primes which
+     * weren't returned yet.
+     */
+    private void sieveNextSegment() {
+        long low = nextSegmentStart;
+        sieveSegment(segment, low);
+        nextSegmentStart += SEGMENT_SPAN;
+
+        System.arraycopy(primes, position, primes, 0, count - position);
+        count -= position;
+        position = 0;
+
+        for (int i = 0; i < SEGMENT_BYTES; i++) {
+            int bits = segment[i] & 0xFF;
+
+            while (bits != 0) {
+                int bit = Integer.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                long prime = low + (long) i * WHEEL + RESIDUES[bit];
+                if (prime > Integer.MAX_VALUE) {
+                    nextSegmentStart = Long.MAX_VALUE;
+                    return;
+                }
+
+                if (prime >= start) {
+                    if (count == primes.length) {
+                        primes = Arrays.copyOf(primes, count * 2);
+                    }
+                    primes[count++] = (int) prime;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of primes up to {@link Integer#MAX_VALUE} in the
+     * segment which starts at specified number, without extracting them.
+     * Primes 2, 3 and 5 are counted in the first segment.
+     * 
+     * @param segment
+     *            buffer for sieving, {@value #SEGMENT_BYTES} bytes long
+     * @param low
+     *            first number of the segment, a multiple of 30
+     * @return the number of primes in the segment
+     */
+    static int countSegment(byte[] segment, long low) {
+        sieveSegment(segment, low);
+
+        int primes = low == 0 ? WHEEL_PRIMES.length : 0;
+        long lastFullByte = (Integer.MAX_VALUE - low - (WHEEL - 1)) / WHEEL;
+        int full = (int) Math.min(SEGMENT_BYTES, lastFullByte + 1);
+
+        for (int i = 0; i < full; i++) {
+            primes += Integer.bitCount(segment[i] & 0xFF);
+        }
+
+        for (int i = full; i < SEGMENT_BYTES; i++) {
+            for (int bit = 0; bit < RESIDUES.length; bit++) {
+                if ((segment[i] & (1 << bit)) != 0 && low + (long) i * WHEEL + RESIDUES[bit] <= Integer.MAX_VALUE) {
+                    primes++;
+                }
+            }
+        }
+
+        return primes;
+    }
+
+    /**
+     * Sieves the segment which starts at specified number. After sieving, a
+     * bit of the segment is set if and only if its number is a prime bigger
+     * than 5.
+     * 
+     * @param segment
+     *            the segment, {@value #SEGMENT_BYTES} bytes long
+     * @param low
+     *            first number of the segment, a multiple of 30
+     */
+    static void sieveSegment(byte[] segment, long low) {
+        long high = low + SEGMENT_SPAN;
+        Arrays.fill(segment, (byte) 0xFF);
+
+        if (low == 0) {
+            segment[0] &= ~1;
+        }
+
+        for (int prime : SIEVING_PRIMES) {
+            long square = (long) prime * prime;
+            if (square >= high)
+                break;
+
+            long factor = Math.max(prime, (low + prime - 1) / prime);
+            while (BITS[(int) (factor % WHEEL)] < 0) {
+                factor++;
+            }
+
+            int wheel = BITS[(int) (factor % WHEEL)];
+            int offset = (int) (prime * factor - low);
+            int span = (int) SEGMENT_SPAN;
+
+            while (offset < span) {
+                segment[offset / WHEEL] &= ~(1 << BITS[offset % WHEEL]);
+
+                offset += prime * GAPS[wheel];
+                wheel = (wheel + 1) & 7;
+            }
+        }
+    }
+}
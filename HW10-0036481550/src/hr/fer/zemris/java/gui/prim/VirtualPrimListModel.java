@@ -0,0 +1,228 @@
+package hr.fer.zemris.java.gui.prim;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import javax.swing.ListModel;
+import javax.swing.event.ListDataListener;
+
+/**
+ * {@code VirtualPrimListModel} class is a implementation of a
+ * {@link ListModel} interface which provides all prime numbers in the range of
+ * int to JList without generating them in advance.
+ * <p>
+ * Like in {@link PrimListModel}, the first element is 1 and the element at
+ * index {@code n} is the {@code n}-th prime number, but the size of the model
+ * is the number of all primes in the range of int. An element is computed
+ * only when it's requested: the model counts the primes of each segment of
+ * {@link PrimeSieve} up to the segment of the requested prime, without
+ * extracting them, and sieves only that segment. Segments are counted in
+ * parallel, as far as an upper estimate of the requested prime, and counts
+ * are remembered, so each segment is counted once. Primes of recently used
+ * segments are kept in a cache of bounded size, from which the least recently
+ * used segment is removed first, so scrolling through a window only copies
+ * primes.
+ * <p>
+ * This class must be used only on the event dispatch thread.
+ * 
+ * @author Karlo Vrbić
+ * @version 1.0
+ * @see PrimeSieve
+ */
+public class VirtualPrimListModel implements ListModel<Integer> {
+
+    /** Number of prime numbers in the range of int. */
+    public static final int PRIME_COUNT = 105_097_565;
+
+    /** Number of segments which cover the range of int. */
+    private static final int SEGMENTS = (int) (Integer.MAX_VALUE / PrimeSieve.SEGMENT_SPAN + 1);
+    /** Default number of cached segments. */
+    private static final int DEFAULT_CACHED_SEGMENTS = 16;
+
+    /** Buffers for counting the segments, one for each thread. */
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal
+            .withInitial(() -> new byte[PrimeSieve.SEGMENT_BYTES]);
+
+    /** List of all listeners. */
+    private final List<ListDataListener> listeners = new ArrayList<>();
+
+    /** Number of primes before each segment, valid up to the counted segments. */
+    private final int[] counts = new int[SEGMENTS + 1];
+    /** Number of counted segments. */
+    private int countedSegments;
+
+    /** Primes of recently used segments, keyed by the index of the segment. */
+    private final Map<Integer, int[]> segments;
+
+    /**
+     * Constructs a new {@code VirtualPrimListModel} object which caches
+     * {@value #DEFAULT_CACHED_SEGMENTS} segments.
+     */
+    public VirtualPrimListModel() {
+        this(DEFAULT_CACHED_SEGMENTS);
+    }
+
+    /**
+     * Constructs a new {@code VirtualPrimListModel} object which caches
+     * specified number of segments.
+     * 
+     * @param cachedSegments
+     *            the maximum number of cached segments
+     * @throws IllegalArgumentException
+     *             if the number of cached segments isn't positive
+     */
+    public VirtualPrimListModel(int cachedSegments) {
+        if (cachedSegments <= 0)
+            throw new IllegalArgumentException("Number of cached segments must be positive: " + cachedSegments + "!");
+
+        this.segments = new LinkedHashMap<Integer, int[]>(16, 0.75f, true) {
+
+            /** Serial version UID. */
+            private static final long serialVersionUID = 4117284921398046123L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+                return size() > cachedSegments;
+            }
+        };
+    }
+
+    /**
+     * Returns the prime number at specified index without boxing it. Index 0
+     * holds number 1.
+     * 
+     * @param index
+     *            the index
+     * @return the prime number at specified index
+     * @throws IndexOutOfBoundsException
+     *             if index is negative or isn't smaller than the size
+     */
+    public int getPrime(int index) {
+        if (index < 0 || index > PRIME_COUNT)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + getSize());
+
+        if (index == 0)
+            return 1;
+
+        countUpTo(index);
+
+        int segment = segmentOf(index);
+        return primesOf(segment)[index - counts[segment] - 1];
+    }
+
+    /**
+     * Counts the segments until the number of counted primes is at least
+     * specified number. Segments up to an upper estimate of the prime are
+     * counted in parallel at once.
+     * 
+     * @param n
+     *            the number of primes
+     */
+    private void countUpTo(int n) {
+        while (counts[countedSegments] < n) {
+            long estimate = estimatePrime(n);
+            int from = countedSegments;
+            int to = (int) Math.min(SEGMENTS, Math.max(from + 1, estimate / PrimeSieve.SEGMENT_SPAN + 1));
+
+            int[] primes = IntStream.range(from, to).parallel()
+                    .map(s -> PrimeSieve.countSegment(BUFFERS.get(), s * PrimeSieve.SEGMENT_SPAN))
+                    .toArray();
+
+            for (int i = 0; i < primes.length; i++) {
+                counts[from + i + 1] = counts[from + i] + primes[i];
+            }
+            countedSegments = to;
+        }
+    }
+
+    /**
+     * Returns an upper estimate of the {@code n}-th prime number, from
+     * Rosser's theorem: {@code p(n) < n (ln n + ln ln n)} for {@code n >= 6}.
+     * 
+     * @param n
+     *            index of the prime number
+     * @return the upper estimate of the prime number
+     */
+    private static long estimatePrime(int n) {
+        if (n < 6)
+            return 13;
+
+        double log = Math.log(n);
+        return (long) Math.ceil(n * (log + Math.log(log)));
+    }
+
+    /**
+     * Returns the index of the counted segment which contains the
+     * {@code n}-th prime number.
+     * 
+     * @param n
+     *            index of the prime number, already counted
+     * @return the index of the segment
+     */
+    private int segmentOf(int n) {
+        int low = 0;
+        int high = countedSegments;
+
+        while (low + 1 < high) {
+            int middle = (low + high) >>> 1;
+
+            if (counts[middle] < n) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the primes of specified counted segment, from the cache or by
+     * sieving the segment.
+     * 
+     * @param segment
+     *            index of the segment
+     * @return the primes of the segment
+     */
+    private int[] primesOf(int segment) {
+        int[] primes = segments.get(segment);
+
+        if (primes == null) {
+            primes = new int[counts[segment + 1] - counts[segment]];
+            new PrimeSieve(segment * PrimeSieve.SEGMENT_SPAN).next(primes, 0, primes.length);
+
+            segments.put(segment, primes);
+        }
+
+        return primes;
+    }
+
+    @Override
+    public int getSize() {
+        return PRIME_COUNT + 1;
+    }
+
+    @Override
+    public Integer getElementAt(int index) {
+        return getPrime(index);
+    }
+
+    @Override
+    public void addListDataListener(ListDataListener l) {
+        if (l == null)
+            throw new NullPointerException("You cannot add a null reference as ListDataListener!");
+
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeListDataListener(ListDataListener l) {
+        if (l == null)
+            throw new NullPointerException("You cannot remove a null reference as ListDataListener!");
+
+        listeners.remove(l);
+    }
+}
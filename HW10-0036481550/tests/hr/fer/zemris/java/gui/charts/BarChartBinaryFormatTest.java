@@ -0,0 +1,104 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class BarChartBinaryFormatTest {
+
+    private Path text;
+    private Path binary;
+
+    @Before
+    public void setUp() throws IOException {
+        text = Files.createTempFile("chart", ".txt");
+        binary = Files.createTempFile("chart", ".bin");
+
+        String chart = "Number of people\r\nYear\r\n3,22 1,8 -2,-20 2,20\r\n-22\r\n22\r\n2\r\n";
+        Files.write(text, chart.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(text);
+        Files.deleteIfExists(binary);
+    }
+
+    // tests for: write(BarChart, Path): void and read(Path): BarChart
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        BarChart expected = BarChartLoader.load(text);
+
+        BarChartBinaryFormat.write(expected, binary);
+        BarChart actual = BarChartBinaryFormat.read(binary);
+
+        assertEquals(expected.getXAxisLabel(), actual.getXAxisLabel());
+        assertEquals(expected.getYAxisLabel(), actual.getYAxisLabel());
+        assertEquals(expected.getYMin(), actual.getYMin());
+        assertEquals(expected.getYMax(), actual.getYMax());
+        assertEquals(expected.getYDiff(), actual.getYDiff());
+        assertEquals(expected.getSize(), actual.getSize());
+        for (int i = 0; i < expected.getSize(); i++) {
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+        }
+    }
+
+    @Test
+    public void testRoundTrip_WrappedWindow() throws IOException {
+        BarChart expected = new BarChart(new int[0], new int[0], 0, "x", "y", 0, 100, 10);
+        expected.setWindowSize(50_000);
+        for (int x = 0; x < 70_000; x++) {
+            expected.append(x, x % 100);
+        }
+
+        BarChartBinaryFormat.write(expected, binary);
+        BarChart actual = BarChartBinaryFormat.read(binary);
+
+        assertEquals(50_000, actual.getSize());
+        for (int i = 0; i < actual.getSize(); i++) {
+            assertEquals(20_000 + i, actual.getX(i));
+            assertEquals((20_000 + i) % 100, actual.getY(i));
+        }
+    }
+
+    @Test
+    public void testLoaderReadsBinary() throws IOException {
+        BarChartBinaryFormat.write(BarChartLoader.load(text), binary);
+
+        BarChart chart = BarChartLoader.load(binary);
+
+        assertEquals("Number of people", chart.getXAxisLabel());
+        assertEquals(4, chart.getSize());
+        assertEquals(-2, chart.getX(0));
+        assertEquals(-20, chart.getY(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadTruncated() throws IOException {
+        BarChartBinaryFormat.write(BarChartLoader.load(text), binary);
+
+        try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        BarChartBinaryFormat.read(binary);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadText() throws IOException {
+        BarChartBinaryFormat.read(text);
+    }
+
+}
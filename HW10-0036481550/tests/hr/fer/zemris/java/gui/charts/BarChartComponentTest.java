@@ -0,0 +1,95 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class BarChartComponentTest {
+
+    private static final int SIZE = 500;
+
+    // tests for: paintComponent(Graphics)
+
+    @Test
+    public void testPaint_NarrowBars() {
+        for (int bars : new int[] { 100, 200, 300, 374, 375, 400, 1000 }) {
+            BufferedImage image = paint(chart(bars, 1));
+
+            assertTrue("No bars drawn for " + bars + " bars", count(image, Color.ORANGE) > 0);
+        }
+    }
+
+    @Test
+    public void testPaint_NarrowGroupedBars() {
+        for (int bars : new int[] { 100, 200, 300 }) {
+            BufferedImage image = paint(chart(bars, 2));
+
+            assertTrue("No bars drawn for " + bars + " bars", count(image, Color.ORANGE) > 0);
+        }
+    }
+
+    @Test
+    public void testPaint_GroupedBuckets() {
+        BarChartComponent component = new BarChartComponent(chart(5000, 2));
+        component.setSeriesColors(Color.ORANGE, Color.BLUE);
+
+        BufferedImage image = paint(component);
+
+        assertTrue(count(image, Color.ORANGE) > 0);
+        assertTrue(count(image, Color.BLUE) > 0);
+    }
+
+    @Test
+    public void testPaint_AutoRange() {
+        for (int bars : new int[] { 100, 100_000 }) {
+            long fixed = count(paint(chart(bars, 1)), Color.ORANGE);
+
+            BarChartComponent component = new BarChartComponent(chart(bars, 1));
+            component.setYAxisAutoRange(true);
+            long auto = count(paint(component), Color.ORANGE);
+
+            assertTrue("Auto range doesn't fit " + bars + " bars", auto > fixed * 3 / 2);
+        }
+    }
+
+    private static BarChart chart(int bars, int seriesCount) {
+        int[] xs = new int[bars];
+        int[][] ys = new int[seriesCount][bars];
+
+        for (int i = 0; i < bars; i++) {
+            xs[i] = i;
+            for (int s = 0; s < seriesCount; s++) {
+                ys[s][i] = 5;
+            }
+        }
+
+        return new BarChart(xs, ys, bars, "x", "y", 0, 10, 1);
+    }
+
+    private static BufferedImage paint(BarChart chart) {
+        return paint(new BarChartComponent(chart));
+    }
+
+    private static BufferedImage paint(BarChartComponent component) {
+        component.setSize(SIZE, SIZE);
+
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        component.paint(g);
+        g.dispose();
+
+        return image;
+    }
+
+    private static long count(BufferedImage image, Color color) {
+        int[] pixels = image.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE);
+
+        return Arrays.stream(pixels).filter(p -> p == color.getRGB()).count();
+    }
+}
@@ -0,0 +1,200 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class BarChartLoaderTest {
+
+    private static final String[] WHITESPACE = { " ", "  ", "\t", " \t " };
+
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        path = Files.createTempFile("chart", ".txt");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    // tests for: load(Path): BarChart
+
+    @Test
+    public void testLoad_CarriageReturns() throws IOException {
+        write("Number of people\r\nYear\r\n1,8 2,20\r\n0\r\n22\r\n2\r\n");
+
+        BarChart chart = BarChartLoader.load(path);
+
+        assertEquals("Number of people", chart.getXAxisLabel());
+        assertEquals("Year", chart.getYAxisLabel());
+        assertEquals(0, chart.getYMin());
+        assertEquals(22, chart.getYMax());
+        assertEquals(2, chart.getYDiff());
+        assertValues(sequential("1,8 2,20"), chart);
+    }
+
+    @Test
+    public void testLoad_FewerLines() throws IOException {
+        for (String s : new String[] { "", "x\ny\n", "x\ny\n1,8\n0\n22", "x\ny\n1,8\n0\n22\n" }) {
+            write(s);
+
+            try {
+                BarChartLoader.load(path);
+                fail("Expected IllegalArgumentException for \"" + s + "\"");
+            } catch (IllegalArgumentException e) {
+                assertEquals("Chart file needs to have 6 lines!", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testLoad_BlankLines() throws IOException {
+        write("\n\n\n0\n22\n2");
+
+        BarChart chart = BarChartLoader.load(path);
+
+        assertEquals("", chart.getXAxisLabel());
+        assertEquals("", chart.getYAxisLabel());
+        assertEquals(0, chart.getSize());
+    }
+
+    @Test
+    public void testLoad_ExtraLines() throws IOException {
+        write("x\ny\n1,8\n0\n22\n2\n\n3,5 2,4\n\n 4,1\n");
+
+        assertValues(sequential("1,8 3,5 2,4 4,1"), BarChartLoader.load(path));
+    }
+
+    @Test
+    public void testLoad_InvalidPair() throws IOException {
+        write("x\ny\n1,8 2;20\n0\n22\n2\n");
+
+        try {
+            BarChartLoader.load(path);
+            fail("Expected NumberFormatException");
+        } catch (NumberFormatException e) {
+            assertEquals("Invalid character ';' in a number!", e.getMessage());
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testLoad_InvalidNumber() throws IOException {
+        write("x\ny\n1,8\nzero\n22\n2\n");
+
+        BarChartLoader.load(path);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testLoad_Null() throws IOException {
+        BarChartLoader.load((Path) null);
+    }
+
+    // tests for: load(FileChannel, boolean, long): BarChart
+
+    @Test
+    public void testLoad_SmallChunks() throws IOException {
+        Random random = new Random(42);
+
+        for (int pairs = 0; pairs < 300; pairs += 7) {
+            String values = pairs(random, pairs);
+            String appended = pairs(random, pairs / 3);
+            write("x\ny\n" + values + "\n0\n100\n10\n" + appended);
+
+            for (long minChunkSize = 1; minChunkSize < 64; minChunkSize += 5) {
+                assertValues(sequential(values + " " + appended), load(minChunkSize));
+            }
+        }
+    }
+
+    @Test
+    public void testLoad_InvalidPairInLaterChunk() throws IOException {
+        Random random = new Random(7);
+        String values = pairs(random, 500) + " 1,a " + pairs(random, 500) + " x,1 " + pairs(random, 10);
+        write("x\ny\n" + values + "\n0\n100\n10\n");
+
+        String expected = null;
+        try {
+            sequential(values);
+        } catch (NumberFormatException e) {
+            expected = e.getMessage();
+        }
+
+        try {
+            load(16);
+            fail("Expected NumberFormatException");
+        } catch (NumberFormatException e) {
+            assertEquals(expected, e.getMessage());
+        }
+    }
+
+    // tests for: load(Path): BarChart
+
+    @Test
+    public void testLoad_LargeFile() throws IOException {
+        String values = pairs(new Random(1), 250_000);
+        write("x\ny\n" + values + "\n0\n100\n10\n");
+
+        assertTrue(Files.size(path) > 1 << 20);
+        assertValues(sequential(values), BarChartLoader.load(path));
+    }
+
+    private BarChart load(long minChunkSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return BarChartLoader.load(channel, false, minChunkSize);
+        }
+    }
+
+    private void write(String s) throws IOException {
+        Files.write(path, s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String pairs(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(WHITESPACE[random.nextInt(WHITESPACE.length)]);
+            }
+            sb.append(random.nextInt(2000) - 1000).append(',').append(random.nextInt(100));
+        }
+
+        return sb.toString();
+    }
+
+    private static BarChart sequential(String pairs) {
+        List<XYValue> values = new ArrayList<>();
+
+        for (String token : pairs.trim().split("\\s+")) {
+            if (!token.isEmpty()) {
+                values.add(XYValue.valueOf(token));
+            }
+        }
+
+        return new BarChart(values, "x", "y", 0, 100, 10);
+    }
+
+    private static void assertValues(BarChart expected, BarChart actual) {
+        assertEquals(expected.getSize(), actual.getSize());
+
+        for (int i = 0; i < expected.getSize(); i++) {
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class BarChartTest {
+
+    // tests for: BarChart(int[], int[], int, String, String, int, int, int)
+
+    @Test
+    public void testConstructor_Sorted() {
+        int[] xs = { 1, 2, 2, 5 };
+        int[] ys = { 4, 3, 2, 1 };
+
+        BarChart chart = new BarChart(xs, ys, xs.length, "x", "y", 0, 10, 1);
+
+        assertArrayEquals(new int[] { 1, 2, 2, 5 }, xs);
+        assertArrayEquals(new int[] { 4, 3, 2, 1 }, ys);
+        assertEquals(4, chart.getSize());
+    }
+
+    @Test
+    public void testConstructor_Unsorted() {
+        int[] xs = { 5, 1, 3, 1 };
+        int[] ys = { 0, 1, 2, 3 };
+
+        BarChart chart = new BarChart(xs, ys, xs.length, "x", "y", 0, 10, 1);
+
+        assertValues(chart, new int[] { 1, 1, 3, 5 }, new int[] { 1, 3, 2, 0 });
+    }
+
+    // tests for: insert(int, int): void
+
+    @Test
+    public void testInsert() {
+        BarChart chart = new BarChart(new int[0], new int[0], 0, "x", "y", 0, 10, 1);
+
+        chart.insert(5, 0);
+        chart.insert(1, 1);
+        chart.insert(3, 2);
+        chart.insert(1, 3);
+        chart.insert(7, 4);
+
+        assertValues(chart, new int[] { 1, 1, 3, 5, 7 }, new int[] { 1, 3, 2, 0, 4 });
+    }
+
+    @Test
+    public void testInsert_FullWindow() {
+        BarChart chart = new BarChart(new int[] { 1, 3, 5 }, new int[] { 1, 3, 5 }, 3, "x", "y", 0, 10, 1);
+        chart.setWindowSize(3);
+
+        chart.insert(0, 0);
+        assertValues(chart, new int[] { 1, 3, 5 }, new int[] { 1, 3, 5 });
+
+        chart.insert(4, 4);
+        assertValues(chart, new int[] { 3, 4, 5 }, new int[] { 3, 4, 5 });
+
+        chart.insert(6, 6);
+        assertValues(chart, new int[] { 4, 5, 6 }, new int[] { 4, 5, 6 });
+    }
+
+    // tests for: BarChart(int[], int[][], int, String, String, int, int, int)
+
+    @Test
+    public void testConstructor_UnsortedSeries() {
+        int[] xs = { 5, 1, 3 };
+        int[][] ys = { { 0, 1, 2 }, { 10, 11, 12 } };
+
+        BarChart chart = new BarChart(xs, ys, xs.length, "x", "y", 0, 20, 1);
+
+        assertEquals(2, chart.getSeriesCount());
+        assertValues(chart, new int[] { 1, 3, 5 }, new int[] { 1, 2, 0 });
+        assertEquals(11, chart.getY(1, 0));
+        assertEquals(12, chart.getY(1, 1));
+        assertEquals(10, chart.getY(1, 2));
+    }
+
+    // tests for: insert(int, int[]): void
+
+    @Test
+    public void testInsert_Series() {
+        BarChart chart = new BarChart(new int[0], new int[][] { {}, {} }, 0, "x", "y", 0, 10, 1);
+
+        chart.insert(5, new int[] { 5, 50 });
+        chart.insert(1, new int[] { 1, 10 });
+        chart.insert(3, 3);
+
+        assertValues(chart, new int[] { 1, 3, 5 }, new int[] { 1, 3, 5 });
+        assertEquals(10, chart.getY(1, 0));
+        assertEquals(0, chart.getY(1, 1));
+        assertEquals(50, chart.getY(1, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsert_WrongNumberOfSeries() {
+        BarChart chart = new BarChart(new int[0], new int[][] { {}, {} }, 0, "x", "y", 0, 10, 1);
+
+        chart.insert(1, new int[] { 1 });
+    }
+
+    // tests for: append(int, int): void
+
+    @Test
+    public void testAppend() {
+        BarChart chart = new BarChart(new int[0], new int[0], 0, "x", "y", 0, 10, 1);
+
+        chart.append(1, 10);
+        chart.append(1, 11);
+        chart.append(4, 40);
+
+        assertValues(chart, new int[] { 1, 1, 4 }, new int[] { 10, 11, 40 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppend_SmallerX() {
+        BarChart chart = new BarChart(new int[] { 5 }, new int[] { 5 }, 1, "x", "y", 0, 10, 1);
+
+        chart.append(4, 4);
+    }
+
+    @Test
+    public void testAppend_WrapAround() {
+        BarChart chart = new BarChart(new int[0], new int[0], 0, "x", "y", 0, 10, 1);
+        chart.setWindowSize(3);
+
+        for (int x = 1; x <= 7; x++) {
+            chart.append(x, 10 * x);
+        }
+
+        assertValues(chart, new int[] { 5, 6, 7 }, new int[] { 50, 60, 70 });
+
+        chart.insert(6, 61);
+        chart.insert(5, 51);
+        assertValues(chart, new int[] { 6, 6, 7 }, new int[] { 60, 61, 70 });
+    }
+
+    // tests for: update(int, int): boolean
+
+    @Test
+    public void testUpdate() {
+        BarChart chart = new BarChart(new int[] { 1, 2, 3 }, new int[] { 1, 2, 3 }, 3, "x", "y", 0, 10, 1);
+
+        assertTrue(chart.update(2, 20));
+        assertFalse(chart.update(4, 40));
+
+        assertValues(chart, new int[] { 1, 2, 3 }, new int[] { 1, 20, 3 });
+    }
+
+    @Test
+    public void testUpdate_WrapAround() {
+        BarChart chart = new BarChart(new int[0], new int[][] { {}, {} }, 0, "x", "y", 0, 10, 1);
+        chart.setWindowSize(2);
+
+        for (int x = 1; x <= 3; x++) {
+            chart.append(x, new int[] { x, -x });
+        }
+
+        assertTrue(chart.update(3, new int[] { 30, -30 }));
+        assertFalse(chart.update(1, new int[] { 10, -10 }));
+
+        assertValues(chart, new int[] { 2, 3 }, new int[] { 2, 30 });
+        assertEquals(-30, chart.getY(1, 1));
+    }
+
+    // tests for: clear(): void
+
+    @Test
+    public void testClear() {
+        BarChart chart = new BarChart(new int[] { 1, 2, 3 }, new int[] { 1, 2, 3 }, 3, "x", "y", 0, 10, 1);
+        chart.setWindowSize(2);
+        int modCount = chart.getModCount();
+
+        chart.clear();
+        assertEquals(0, chart.getSize());
+        assertTrue(chart.getModCount() != modCount);
+
+        for (int x = 4; x <= 6; x++) {
+            chart.append(x, x);
+        }
+        assertValues(chart, new int[] { 5, 6 }, new int[] { 5, 6 });
+    }
+
+    // tests for: setWindowSize(int): void
+
+    @Test
+    public void testSetWindowSize_DropsOldest() {
+        BarChart chart = new BarChart(new int[] { 1, 2, 3, 4 }, new int[] { 1, 2, 3, 4 }, 4, "x", "y", 0, 10, 1);
+
+        chart.setWindowSize(2);
+        assertEquals(2, chart.getWindowSize());
+        assertValues(chart, new int[] { 3, 4 }, new int[] { 3, 4 });
+
+        chart.setWindowSize(0);
+        chart.append(5, 5);
+        chart.append(6, 6);
+        assertValues(chart, new int[] { 3, 4, 5, 6 }, new int[] { 3, 4, 5, 6 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetWindowSize_Negative() {
+        new BarChart(new int[0], new int[0], 0, "x", "y", 0, 10, 1).setWindowSize(-1);
+    }
+
+    // tests for: getModCount(): int
+
+    @Test
+    public void testGetModCount() {
+        BarChart chart = new BarChart(new int[0], new int[0], 0, "x", "y", 0, 10, 1);
+        int modCount = chart.getModCount();
+
+        chart.append(1, 1);
+        assertTrue(modCount != chart.getModCount());
+        modCount = chart.getModCount();
+
+        chart.update(1, 2);
+        assertTrue(modCount != chart.getModCount());
+        modCount = chart.getModCount();
+
+        chart.update(5, 2);
+        assertEquals(modCount, chart.getModCount());
+
+        chart.setWindowSize(1);
+        assertTrue(modCount != chart.getModCount());
+    }
+
+    // tests for: addBarChartListener(BarChartListener): void
+
+    @Test
+    public void testListener() {
+        BarChart chart = new BarChart(new int[0], new int[0], 0, "x", "y", 0, 10, 1);
+        int[] calls = new int[1];
+        chart.addBarChartListener(c -> {
+            assertSame(chart, c);
+            calls[0]++;
+        });
+
+        chart.append(1, 1);
+        chart.insert(0, 0);
+        chart.insertAll(new int[] { 3, 2 }, new int[] { 3, 2 }, 2);
+        chart.update(1, 10);
+        chart.update(7, 10);
+        chart.setWindowSize(2);
+
+        assertEquals(5, calls[0]);
+    }
+
+    @Test
+    public void testListener_AddedDuringNotification() {
+        BarChart chart = new BarChart(new int[0], new int[0], 0, "x", "y", 0, 10, 1);
+        int[] calls = new int[1];
+        BarChartListener added = c -> calls[0]++;
+
+        chart.addBarChartListener(c -> c.addBarChartListener(added));
+
+        chart.append(1, 1);
+        assertEquals(0, calls[0]);
+
+        chart.append(2, 2);
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void testListener_Removed() {
+        BarChart chart = new BarChart(new int[0], new int[0], 0, "x", "y", 0, 10, 1);
+        int[] calls = new int[1];
+        BarChartListener listener = c -> calls[0]++;
+
+        chart.addBarChartListener(listener);
+        chart.append(1, 1);
+        chart.removeBarChartListener(listener);
+        chart.append(2, 2);
+
+        assertEquals(1, calls[0]);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testListener_Null() {
+        new BarChart(new int[0], new int[0], 0, "x", "y", 0, 10, 1).addBarChartListener(null);
+    }
+
+    private static void assertValues(BarChart chart, int[] xs, int[] ys) {
+        assertEquals(xs.length, chart.getSize());
+
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(xs[i], chart.getX(i));
+            assertEquals(ys[i], chart.getY(i));
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class BarChartWatcherTest {
+
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        path = Files.createTempFile("chart", ".txt");
+
+        write("Number of people\r\nYear\r\n1,8 3,22\r\n-22\r\n22\r\n2\r\n");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    // tests for: BarChartWatcher(Path)
+
+    @Test
+    public void testConstructor_AppendedPairs() throws IOException {
+        write("5,4 4,10\r\n6,");
+
+        BarChartWatcher watcher = new BarChartWatcher(path);
+
+        assertValues(watcher.getChart(), new int[] { 1, 3, 4, 5 }, new int[] { 8, 22, 10, 4 });
+
+        write("1");
+        assertEquals(5, BarChartLoader.load(path).getSize());
+    }
+
+    // tests for: refresh(): int
+
+    @Test
+    public void testRefresh() throws IOException {
+        BarChartWatcher watcher = new BarChartWatcher(path);
+        assertEquals(0, watcher.refresh());
+
+        write("5,4 2,");
+        assertEquals(1, watcher.refresh());
+        assertValues(watcher.getChart(), new int[] { 1, 3, 5 }, new int[] { 8, 22, 4 });
+
+        write("20\n");
+        assertEquals(1, watcher.refresh());
+        assertValues(watcher.getChart(), new int[] { 1, 2, 3, 5 }, new int[] { 8, 20, 22, 4 });
+    }
+
+    @Test
+    public void testRefresh_InvalidPair() throws IOException {
+        BarChartWatcher watcher = new BarChartWatcher(path);
+
+        write("5,4 x 6,1\n");
+        try {
+            watcher.refresh();
+            fail();
+        } catch (NumberFormatException e) {
+            // expected
+        }
+        assertValues(watcher.getChart(), new int[] { 1, 3, 5 }, new int[] { 8, 22, 4 });
+
+        assertEquals(1, watcher.refresh());
+        assertValues(watcher.getChart(), new int[] { 1, 3, 5, 6 }, new int[] { 8, 22, 4, 1 });
+    }
+
+    @Test
+    public void testRefresh_LongPair() throws IOException {
+        BarChartWatcher watcher = new BarChartWatcher(path);
+
+        write("5,4 " + repeat('1', 70_000) + " 6,1\n");
+        try {
+            watcher.refresh();
+            fail();
+        } catch (NumberFormatException e) {
+            assertEquals("Pair is longer than 65536 bytes!", e.getMessage());
+        }
+        assertValues(watcher.getChart(), new int[] { 1, 3, 5 }, new int[] { 8, 22, 4 });
+
+        assertEquals(1, watcher.refresh());
+        assertValues(watcher.getChart(), new int[] { 1, 3, 5, 6 }, new int[] { 8, 22, 4, 1 });
+    }
+
+    @Test
+    public void testRefresh_LongPairBeingWritten() throws IOException {
+        BarChartWatcher watcher = new BarChartWatcher(path);
+
+        write(repeat('1', 70_000));
+        try {
+            watcher.refresh();
+            fail();
+        } catch (NumberFormatException e) {
+            // expected
+        }
+
+        write(repeat('1', 70_000));
+        assertEquals(0, watcher.refresh());
+
+        write(",1 6,1\n");
+        assertEquals(1, watcher.refresh());
+        assertValues(watcher.getChart(), new int[] { 1, 3, 6 }, new int[] { 8, 22, 1 });
+    }
+
+    @Test
+    public void testRefresh_Truncated() throws IOException {
+        BarChartWatcher watcher = new BarChartWatcher(path);
+        write("5,4\n");
+        assertEquals(1, watcher.refresh());
+
+        Files.write(path, "x\ny\n2,5\n0\n10\n1\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, watcher.refresh());
+        assertValues(watcher.getChart(), new int[] { 2 }, new int[] { 5 });
+        assertEquals("Number of people", watcher.getChart().getXAxisLabel());
+
+        write("4,7\n");
+        assertEquals(1, watcher.refresh());
+        assertValues(watcher.getChart(), new int[] { 2, 4 }, new int[] { 5, 7 });
+    }
+
+    @Test
+    public void testRefresh_ReplacedWhileWritten() throws IOException {
+        BarChartWatcher watcher = new BarChartWatcher(path);
+
+        Files.write(path, "x\ny\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            watcher.refresh();
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Chart file needs to have 6 lines!", e.getMessage());
+        }
+        assertValues(watcher.getChart(), new int[] { 1, 3 }, new int[] { 8, 22 });
+
+        write("2,5 3,6\n0\n10\n1\n");
+        assertEquals(2, watcher.refresh());
+        assertValues(watcher.getChart(), new int[] { 2, 3 }, new int[] { 5, 6 });
+    }
+
+    private void write(String s) throws IOException {
+        Files.write(path, s.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static void assertValues(BarChart chart, int[] xs, int[] ys) {
+        assertEquals(xs.length, chart.getSize());
+
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(xs[i], chart.getX(i));
+            assertEquals(ys[i], chart.getY(i));
+        }
+    }
+
+}
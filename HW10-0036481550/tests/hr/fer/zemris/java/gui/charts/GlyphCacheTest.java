@@ -0,0 +1,135 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class GlyphCacheTest {
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory
+            .getThreadMXBean();
+
+    // tests for: getNumberGlyphs(Graphics2D, int): GlyphVector
+
+    @Test
+    public void testGetNumberGlyphs_RotatedLabelBetween() {
+        Graphics2D g = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB).createGraphics();
+        GlyphCache cache = new GlyphCache(new Font(null, Font.PLAIN, 20));
+
+        GlyphVector number = cache.getNumberGlyphs(g, 22);
+
+        AffineTransform defaultAt = g.getTransform();
+        g.rotate(-Math.PI / 2);
+        GlyphVector label = cache.getLabelGlyphs(g, "y");
+        g.setTransform(defaultAt);
+
+        assertSame(number, cache.getNumberGlyphs(g, 22));
+        assertSame(label, cache.getLabelGlyphs(g, "y"));
+    }
+
+    @Test
+    public void testGetNumberGlyphs_Scaled() {
+        Graphics2D g = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB).createGraphics();
+        GlyphCache cache = new GlyphCache(new Font(null, Font.PLAIN, 20));
+
+        GlyphVector number = cache.getNumberGlyphs(g, 22);
+        g.scale(2, 2);
+
+        assertNotSame(number, cache.getNumberGlyphs(g, 22));
+    }
+
+    @Test
+    public void testGetNumberGlyphs_CachedDoesntAllocate() {
+        Graphics2D g = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB).createGraphics();
+        GlyphCache cache = new GlyphCache(new Font(null, Font.PLAIN, 20));
+
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long bytes = allocatedBytes();
+            lookUp(cache, g);
+            allocated = Math.min(allocated, allocatedBytes() - bytes);
+        }
+
+        assertEquals(0, allocated);
+    }
+
+    // tests for: drawNumber(Graphics2D, int, float, float)
+
+    @Test
+    public void testDrawNumber_CachedAllocatesOnlyDrawing() {
+        Graphics2D g = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB).createGraphics();
+        GlyphCache cache = new GlyphCache(new Font(null, Font.PLAIN, 20));
+
+        GlyphVector[] vectors = new GlyphVector[64];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = cache.getNumberGlyphs(g, i);
+        }
+
+        long direct = Long.MAX_VALUE;
+        long cached = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long bytes = allocatedBytes();
+            for (int i = 0; i < 1000; i++) {
+                g.drawGlyphVector(vectors[i & 63], 5, 5);
+            }
+            direct = Math.min(direct, allocatedBytes() - bytes);
+
+            bytes = allocatedBytes();
+            for (int i = 0; i < 1000; i++) {
+                cache.drawNumber(g, i & 63, 5, 5);
+            }
+            cached = Math.min(cached, allocatedBytes() - bytes);
+        }
+
+        assertTrue(cached <= direct);
+    }
+
+    // tests for: BarChartComponent.paintComponent(Graphics)
+
+    @Test
+    public void testRepaint_ReusesGlyphs() {
+        BarChart chart = new BarChart(new int[] { 1, 2, 3 }, new int[] { 4, 8, 2 }, 3, "x", "y", 0, 10, 2);
+        BarChartComponent component = new BarChartComponent(chart);
+        component.setSize(500, 500);
+
+        BufferedImage image = new BufferedImage(500, 500, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        GlyphCache cache = component.getGlyphCache();
+
+        component.paint(g);
+        GlyphVector label = cache.getLabelGlyphs(g, "y");
+        GlyphVector[] numbers = new GlyphVector[6];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = cache.getNumberGlyphs(g, 2 * i);
+        }
+
+        component.setSize(500, 480);
+        component.paint(g);
+        assertSame(label, cache.getLabelGlyphs(g, "y"));
+        for (int i = 0; i < numbers.length; i++) {
+            assertSame(numbers[i], cache.getNumberGlyphs(g, 2 * i));
+        }
+    }
+
+    private static void lookUp(GlyphCache cache, Graphics2D g) {
+        for (int i = 0; i < 1000; i++) {
+            cache.getAscent(g);
+            cache.getNumberGlyphs(g, i & 63);
+            cache.getNumberWidth(g, i & 63);
+            cache.getLabelGlyphs(g, "y");
+            cache.getLabelWidth(g, "y");
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
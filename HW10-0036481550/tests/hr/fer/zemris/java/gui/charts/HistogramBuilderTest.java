@@ -0,0 +1,138 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class HistogramBuilderTest {
+
+    // tests for: add(IntStream): HistogramBuilder
+
+    @Test
+    public void testAdd_ParallelStream() {
+        HistogramBuilder builder = new HistogramBuilder(0, 9, 2);
+
+        builder.add(IntStream.range(-5, 100_000).parallel().map(i -> i < 0 ? i : i % 12));
+        BarChart chart = builder.build("x", "y");
+
+        assertEquals(5, chart.getSize());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(2 * i, chart.getX(i));
+        }
+        assertEquals(16668, chart.getY(0));
+        assertEquals(16666, chart.getY(4));
+        assertEquals(5 + 16666, builder.getOutOfRangeCount());
+        assertEquals(16668, chart.getYMax());
+    }
+
+    // tests for: add(Path): HistogramBuilder
+
+    @Test
+    public void testAdd_File() throws IOException {
+        Path path = Files.createTempFile("samples", ".txt");
+        try {
+            Files.write(path, "1 2\r\n2 -3\n+3 4 4 4".getBytes(StandardCharsets.UTF_8));
+
+            BarChart chart = new HistogramBuilder(1, 4, 1).add(path).build("x", "y");
+
+            assertEquals(4, chart.getSize());
+            assertEquals(1, chart.getY(0));
+            assertEquals(2, chart.getY(1));
+            assertEquals(1, chart.getY(2));
+            assertEquals(3, chart.getY(3));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testAdd_SampleAcrossChunks() throws IOException {
+        Path path = Files.createTempFile("samples", ".txt");
+        try {
+            Files.write(path, "1234 -567 89\n12".getBytes(StandardCharsets.UTF_8));
+
+            for (long chunkSize = 1; chunkSize <= 6; chunkSize++) {
+                HistogramBuilder builder = new HistogramBuilder(0, 1999, 1000, chunkSize).add(path);
+                BarChart chart = builder.build("x", "y");
+
+                assertEquals(2, chart.getSize());
+                assertEquals(2, chart.getY(0));
+                assertEquals(1, chart.getY(1));
+                assertEquals(1, builder.getOutOfRangeCount());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testAdd_SmallChunks() throws IOException {
+        Random random = new Random(42);
+        int[] samples = random.ints(5000, -1100, 1100).toArray();
+        String[] separators = { " ", "\n", "\r\n", "  \t" };
+
+        StringBuilder sb = new StringBuilder();
+        for (int sample : samples) {
+            sb.append(separators[random.nextInt(separators.length)]).append(sample);
+        }
+
+        Path path = Files.createTempFile("samples", ".txt");
+        try {
+            Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+
+            HistogramBuilder expected = new HistogramBuilder(-1000, 999, 100).add(IntStream.of(samples));
+            BarChart expectedChart = expected.build("x", "y");
+
+            for (long chunkSize : new long[] { 1, 2, 3, 7, 64, 65, 1000, sb.length() }) {
+                HistogramBuilder builder = new HistogramBuilder(-1000, 999, 100, chunkSize).add(path);
+                BarChart chart = builder.build("x", "y");
+
+                assertEquals(expectedChart.getSize(), chart.getSize());
+                for (int i = 0; i < chart.getSize(); i++) {
+                    assertEquals(expectedChart.getY(i), chart.getY(i));
+                }
+                assertEquals(expected.getOutOfRangeCount(), builder.getOutOfRangeCount());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testAdd_InvalidSampleInLaterChunk() throws IOException {
+        Path path = Files.createTempFile("samples", ".txt");
+        try {
+            Files.write(path, "1 2 3 4 5 6 7 8 9 1x".getBytes(StandardCharsets.UTF_8));
+
+            new HistogramBuilder(1, 4, 1, 4).add(path);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_InvalidChunkSize() {
+        new HistogramBuilder(1, 4, 1, 0);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testAdd_InvalidSample() throws IOException {
+        Path path = Files.createTempFile("samples", ".txt");
+        try {
+            Files.write(path, "1 2x 3".getBytes(StandardCharsets.UTF_8));
+
+            new HistogramBuilder(1, 4, 1).add(path);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class LatencyHistogramTest {
+
+    private static final long BIG = 1L << 60;
+
+    // tests for: record(long): void
+
+    @Test
+    public void testRecord_ExactValues() {
+        for (long value = 0; value < 64; value++) {
+            assertEquals(value, highestInBucket(value));
+        }
+    }
+
+    @Test
+    public void testRecord_SubBucketRollover() {
+        assertEquals(63, highestInBucket(63));
+        assertEquals(65, highestInBucket(64));
+        assertEquals(65, highestInBucket(65));
+        assertEquals(67, highestInBucket(66));
+        assertEquals(127, highestInBucket(126));
+    }
+
+    @Test
+    public void testRecord_ExponentRollover() {
+        assertEquals(127, highestInBucket(127));
+        assertEquals(131, highestInBucket(128));
+        assertEquals(255, highestInBucket(252));
+        assertEquals(263, highestInBucket(256));
+        assertEquals((1L << 40) + (1L << 35) - 1, highestInBucket(1L << 40));
+    }
+
+    @Test
+    public void testRecord_RelativeError() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong() >>> (1 + random.nextInt(62));
+            if (value >= BIG)
+                continue;
+
+            long highest = highestInBucket(value);
+            assertTrue(highest >= value);
+            assertTrue(highest - value <= value / 32);
+        }
+    }
+
+    @Test
+    public void testRecord_LongMaxValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+    }
+
+    @Test
+    public void testRecord_Negative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+        assertEquals(0, histogram.getMean(), 1e-9);
+    }
+
+    // tests for: getValueAtPercentile(double): long
+
+    @Test
+    public void testGetValueAtPercentile_Uniform() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(1, histogram.getValueAtPercentile(1));
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(67, histogram.getValueAtPercentile(66));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    public void testGetValueAtPercentile_LongTail() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 990; i++) {
+            histogram.record(1_000_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(50_000_000);
+        }
+
+        long p50 = histogram.getValueAtPercentile(50);
+        assertTrue(p50 >= 1_000_000 && p50 <= 1_000_000 + 1_000_000 / 32);
+
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(p99 >= 1_000_000 && p99 <= 1_000_000 + 1_000_000 / 32);
+
+        assertEquals(50_000_000, histogram.getValueAtPercentile(99.9));
+        assertEquals(50_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testGetValueAtPercentile_Empty() {
+        assertEquals(0, new LatencyHistogram().getValueAtPercentile(99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetValueAtPercentile_TooBig() {
+        new LatencyHistogram().getValueAtPercentile(100.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetValueAtPercentile_NaN() {
+        new LatencyHistogram().getValueAtPercentile(Double.NaN);
+    }
+
+    // tests for: reset(): void
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(20);
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean(), 1e-9);
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    private static long highestInBucket(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        histogram.record(BIG);
+
+        return histogram.getValueAtPercentile(50);
+    }
+
+}
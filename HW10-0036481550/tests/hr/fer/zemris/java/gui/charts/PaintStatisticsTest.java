@@ -0,0 +1,94 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class PaintStatisticsTest {
+
+    // tests for: recordFrame(long): void
+
+    @Test
+    public void testRecordFrame_DroppedFrames() {
+        PaintStatistics statistics = new PaintStatistics();
+
+        statistics.recordFrame(1_000_000);
+        statistics.recordFrame(16_000_000);
+        statistics.recordFrame(16_666_666);
+        statistics.recordFrame(16_666_667);
+        statistics.recordFrame(17_000_000);
+        statistics.recordFrame(40_000_000);
+
+        assertEquals(6, statistics.getFrameCount());
+        assertEquals(3, statistics.getDroppedFrameCount());
+        assertEquals(40, statistics.getFrameMaxMillis(), 1e-9);
+    }
+
+    @Test
+    public void testRecordFrame_CustomBudget() {
+        PaintStatistics statistics = new PaintStatistics(1000);
+
+        statistics.recordFrame(1000);
+        statistics.recordFrame(1001);
+
+        assertEquals(1, statistics.getDroppedFrameCount());
+    }
+
+    @Test
+    public void testRecordFrame_Percentile() {
+        PaintStatistics statistics = new PaintStatistics();
+        for (int i = 1; i <= 100; i++) {
+            statistics.recordFrame(i * 1_000_000L);
+        }
+
+        assertEquals(50.5, statistics.getFrameMeanMillis(), 1e-9);
+        assertEquals(99, statistics.getFrameP99Millis(), 99 / 32.0);
+        assertEquals(100 - 16, statistics.getDroppedFrameCount());
+    }
+
+    // tests for: recordPhase(PaintPhase, long): void
+
+    @Test
+    public void testRecordPhase() {
+        PaintStatistics statistics = new PaintStatistics();
+
+        statistics.recordPhase(PaintPhase.BARS, 2_000_000);
+        statistics.recordPhase(PaintPhase.BARS, 4_000_000);
+        statistics.recordPhase(PaintPhase.AXES, 1_000_000);
+
+        Map<String, Double> mean = statistics.getPhaseMeanMillis();
+        assertEquals(PaintPhase.values().length, mean.size());
+        assertEquals(3, mean.get("BARS"), 1e-9);
+        assertEquals(1, mean.get("AXES"), 1e-9);
+        assertEquals(0, mean.get("GRID"), 1e-9);
+        assertEquals(4, statistics.getPhaseMaxMillis().get("BARS"), 1e-9);
+        assertEquals(2, statistics.getPhaseHistogram(PaintPhase.BARS).getCount());
+        assertEquals(0, statistics.getFrameCount());
+    }
+
+    // tests for: reset(): void
+
+    @Test
+    public void testReset() {
+        PaintStatistics statistics = new PaintStatistics();
+        statistics.recordFrame(20_000_000);
+        statistics.recordPhase(PaintPhase.BARS, 2_000_000);
+
+        statistics.reset();
+
+        assertEquals(0, statistics.getFrameCount());
+        assertEquals(0, statistics.getDroppedFrameCount());
+        assertEquals(0, statistics.getPhaseHistogram(PaintPhase.BARS).getCount());
+    }
+
+    // tests for: PaintStatistics(long)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_InvalidBudget() {
+        new PaintStatistics(0);
+    }
+
+}
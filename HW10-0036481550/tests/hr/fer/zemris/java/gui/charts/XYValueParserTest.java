@@ -0,0 +1,99 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class XYValueParserTest {
+
+    private static final String[] VALID = {
+            "1,8", "2,20", "-3,-22", "+4,+10", " 5 , 4 ", "\t6,\t7\r", "7,8,", "8,9,abc", "9,10 ,11",
+            "10,11\u0000", "\u0000 11,12", "2147483647,-2147483648", "-0,0"
+    };
+
+    private static final String[] INVALID = {
+            "", " ", "1", "1,", ",1", "1,,2", "1 2,3", "1,2 3", "a,1", "1,a", "+,1", "1,-", "2147483648,1",
+            "1,-2147483649", "1\u0000,2", "1,2\u0000,3", "0x1,2"
+    };
+
+    // tests for: parse(CharSequence): void
+
+    @Test
+    public void testParseCharSequence_SameAsRegex() {
+        XYValueParser parser = new XYValueParser();
+
+        for (String s : VALID) {
+            parser.parse(s);
+
+            XYValue expected = regexValueOf(s);
+            assertEquals(s, expected.getX(), parser.getX());
+            assertEquals(s, expected.getY(), parser.getY());
+        }
+    }
+
+    @Test
+    public void testParseCharSequence_Invalid() {
+        XYValueParser parser = new XYValueParser();
+
+        for (String s : INVALID) {
+            try {
+                parser.parse(s);
+                fail("Expected NumberFormatException for \"" + s + "\"");
+            } catch (NumberFormatException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void testParseCharSequence_Range() {
+        XYValueParser parser = new XYValueParser();
+
+        parser.parse("1,8 2,20 3,22", 4, 8);
+
+        assertEquals(2, parser.getX());
+        assertEquals(20, parser.getY());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testParseCharSequence_Null() {
+        new XYValueParser().parse(null);
+    }
+
+    // tests for: parse(ByteBuffer, int, int): void
+
+    @Test
+    public void testParseByteBuffer_SameAsRegex() {
+        XYValueParser parser = new XYValueParser();
+
+        for (String s : VALID) {
+            ByteBuffer buffer = ByteBuffer.wrap(("#" + s + "#").getBytes(StandardCharsets.ISO_8859_1));
+            parser.parse(buffer, 1, buffer.limit() - 1);
+
+            XYValue expected = regexValueOf(s);
+            assertEquals(s, expected.getX(), parser.getX());
+            assertEquals(s, expected.getY(), parser.getY());
+            assertEquals(0, buffer.position());
+        }
+    }
+
+    // tests for: XYValue.valueOf(String): XYValue
+
+    @Test
+    public void testValueOf() {
+        XYValue value = XYValue.valueOf(" -12 , 34 ");
+
+        assertEquals(-12, value.getX());
+        assertEquals(34, value.getY());
+    }
+
+    private static XYValue regexValueOf(String s) {
+        String[] tmp = s.trim().split("\\s*,\\s*");
+
+        return new XYValue(Integer.valueOf(tmp[0]), Integer.valueOf(tmp[1]));
+    }
+
+}
@@ -0,0 +1,181 @@
+package hr.fer.zemris.java.gui.prim;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class PrimListModelTest {
+
+    // tests for: getPrime(int): int
+
+    @Test
+    public void testGetPrime() {
+        PrimListModel model = new PrimListModel();
+        model.next(10);
+
+        assertEquals(11, model.getSize());
+        int[] expected = { 1, 2, 3, 5, 7, 11, 13, 17, 19, 23, 29 };
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], model.getPrime(i));
+            assertEquals(Integer.valueOf(expected[i]), model.getElementAt(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetPrime_OutOfBounds() {
+        PrimListModel model = new PrimListModel();
+
+        model.getPrime(1);
+    }
+
+    // tests for: next(): int
+
+    @Test
+    public void testNext() {
+        PrimListModel model = new PrimListModel();
+        List<ListDataEvent> events = listen(model);
+
+        assertEquals(2, model.next());
+        assertEquals(3, model.next());
+
+        assertEquals(2, events.size());
+        assertInterval(events.get(1), 2, 2);
+    }
+
+    // tests for: next(int): int
+
+    @Test
+    public void testNextCount_OneEvent() {
+        PrimListModel model = new PrimListModel();
+        List<ListDataEvent> events = listen(model);
+
+        assertEquals(100_000, model.next(100_000));
+
+        assertEquals(1, events.size());
+        assertInterval(events.get(0), 1, 100_000);
+        assertEquals(1_299_709, model.getPrime(100_000));
+    }
+
+    @Test
+    public void testNextCount_Zero() {
+        PrimListModel model = new PrimListModel();
+        List<ListDataEvent> events = listen(model);
+
+        assertEquals(0, model.next(0));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNextCount_Negative() {
+        new PrimListModel().next(-1);
+    }
+
+    // tests for: advanceTo(long): int
+
+    @Test
+    public void testAdvanceTo_OneEvent() {
+        PrimListModel model = new PrimListModel();
+        model.next(3);
+        List<ListDataEvent> events = listen(model);
+
+        assertEquals(78_495, model.advanceTo(1_000_000));
+
+        assertEquals(1, events.size());
+        assertInterval(events.get(0), 4, 78_498);
+        assertEquals(999_983, model.getPrime(model.getSize() - 1));
+
+        assertEquals(0, model.advanceTo(999_990));
+        assertEquals(1, events.size());
+    }
+
+    // tests for: generate(int, IntConsumer): void
+
+    @Test
+    public void testGenerate_Cancelled() throws InterruptedException, InvocationTargetException {
+        PrimListModel model = new PrimListModel();
+        CountDownLatch finished = new CountDownLatch(1);
+        int[] published = new int[1];
+
+        SwingUtilities.invokeAndWait(() -> model.generate(10_000_000, count -> {
+            published[0] = count;
+            model.cancel();
+            if (!model.isGenerating()) {
+                finished.countDown();
+            }
+        }));
+
+        assertTrue(finished.await(30, TimeUnit.SECONDS));
+
+        SwingUtilities.invokeAndWait(() -> {
+            assertTrue(published[0] < 10_000_000);
+            assertEquals(published[0] + 1, model.getSize());
+
+            model.next(1000);
+            PrimeSieve sieve = new PrimeSieve();
+            assertEquals(1, model.getPrime(0));
+            for (int i = 1; i < model.getSize(); i++) {
+                assertEquals(sieve.next(), model.getPrime(i));
+            }
+        });
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGenerate_AlreadyGenerating() throws Throwable {
+        PrimListModel model = new PrimListModel();
+
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                model.generate(1_000_000, null);
+                try {
+                    model.next(1);
+                } finally {
+                    model.cancel();
+                }
+            });
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static List<ListDataEvent> listen(PrimListModel model) {
+        List<ListDataEvent> events = new ArrayList<>();
+
+        model.addListDataListener(new ListDataListener() {
+
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                events.add(e);
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                fail();
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                fail();
+            }
+        });
+
+        return events;
+    }
+
+    private static void assertInterval(ListDataEvent event, int index0, int index1) {
+        assertEquals(ListDataEvent.INTERVAL_ADDED, event.getType());
+        assertEquals(index0, event.getIndex0());
+        assertEquals(index1, event.getIndex1());
+    }
+
+}
@@ -0,0 +1,142 @@
+package hr.fer.zemris.java.gui.prim;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class PrimeSieveTest {
+
+    private static final int LIMIT = (int) (3 * PrimeSieve.SEGMENT_SPAN + 12345);
+
+    private static final boolean[] COMPOSITE = new boolean[LIMIT + 1];
+
+    static {
+        COMPOSITE[0] = true;
+        COMPOSITE[1] = true;
+        for (int i = 2; (long) i * i <= LIMIT; i++) {
+            if (!COMPOSITE[i]) {
+                for (int j = i * i; j <= LIMIT; j += i) {
+                    COMPOSITE[j] = true;
+                }
+            }
+        }
+    }
+
+    // tests for: next(): int
+
+    @Test
+    public void testNext_SeveralSegments() {
+        PrimeSieve sieve = new PrimeSieve();
+
+        assertPrimes(sieve, 0, LIMIT);
+    }
+
+    @Test
+    public void testNext_UnalignedStart() {
+        for (int start : new int[] { 1, 2, 4, 6, 7, 31, 1_000_003, (int) PrimeSieve.SEGMENT_SPAN - 7 }) {
+            PrimeSieve sieve = new PrimeSieve(start);
+
+            assertPrimes(sieve, start, (int) (2 * PrimeSieve.SEGMENT_SPAN));
+        }
+    }
+
+    @Test
+    public void testNext_EndOfIntRange() {
+        int start = Integer.MAX_VALUE - 1000;
+        PrimeSieve sieve = new PrimeSieve(start);
+
+        for (long n = start; n <= Integer.MAX_VALUE; n++) {
+            if (isPrime(n)) {
+                assertTrue(sieve.hasNext());
+                assertEquals(n, sieve.next());
+            }
+        }
+
+        assertFalse(sieve.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNext_AfterLastPrime() {
+        PrimeSieve sieve = new PrimeSieve(Integer.MAX_VALUE);
+
+        assertEquals(Integer.MAX_VALUE, sieve.next());
+        sieve.next();
+    }
+
+    // tests for: next(int[], int, int, int): int
+
+    @Test
+    public void testNextArray_Bound() {
+        PrimeSieve sieve = new PrimeSieve();
+        int[] primes = new int[10];
+
+        assertEquals(4, sieve.next(primes, 1, 9, 10));
+        assertArrayEquals(new int[] { 0, 2, 3, 5, 7, 0, 0, 0, 0, 0 }, primes);
+
+        assertEquals(2, sieve.next(primes, 0, 2));
+        assertEquals(11, primes[0]);
+        assertEquals(13, primes[1]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNextArray_InvalidRange() {
+        new PrimeSieve().next(new int[10], 5, 6);
+    }
+
+    // tests for: PrimeSieve(long)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_Negative() {
+        new PrimeSieve(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_OutOfIntRange() {
+        new PrimeSieve(Integer.MAX_VALUE + 1L);
+    }
+
+    // tests for: countSegment(byte[], long): int
+
+    @Test
+    public void testCountSegment() {
+        byte[] buffer = new byte[PrimeSieve.SEGMENT_BYTES];
+        long last = Integer.MAX_VALUE / PrimeSieve.SEGMENT_SPAN * PrimeSieve.SEGMENT_SPAN;
+
+        for (long low : new long[] { 0, PrimeSieve.SEGMENT_SPAN, 2 * PrimeSieve.SEGMENT_SPAN, last }) {
+            PrimeSieve sieve = new PrimeSieve(low);
+            long bound = Math.min(Integer.MAX_VALUE, low + PrimeSieve.SEGMENT_SPAN - 1);
+
+            int count = 0;
+            int[] primes = new int[1024];
+            for (int n; (n = sieve.next(primes, 0, primes.length, (int) bound)) > 0;) {
+                count += n;
+            }
+
+            assertEquals(count, PrimeSieve.countSegment(buffer, low));
+        }
+    }
+
+    private static void assertPrimes(PrimeSieve sieve, int from, int to) {
+        for (int n = from; n <= to; n++) {
+            if (!COMPOSITE[n]) {
+                assertEquals(n, sieve.next());
+            }
+        }
+    }
+
+    private static boolean isPrime(long n) {
+        if (n < 2)
+            return false;
+
+        for (long d = 2; d * d <= n; d++) {
+            if (n % d == 0)
+                return false;
+        }
+
+        return true;
+    }
+
+}
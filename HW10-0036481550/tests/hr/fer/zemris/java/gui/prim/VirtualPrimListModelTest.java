@@ -0,0 +1,108 @@
+package hr.fer.zemris.java.gui.prim;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class VirtualPrimListModelTest {
+
+    // tests for: getPrime(int): int
+
+    @Test
+    public void testGetPrime_Bounds() {
+        VirtualPrimListModel model = new VirtualPrimListModel();
+
+        assertEquals(1, model.getPrime(0));
+        assertEquals(2, model.getPrime(1));
+        assertEquals(Integer.MAX_VALUE, model.getPrime(VirtualPrimListModel.PRIME_COUNT));
+        assertEquals(2_147_483_629, model.getPrime(VirtualPrimListModel.PRIME_COUNT - 1));
+    }
+
+    @Test
+    public void testGetPrime_KnownPrimes() {
+        VirtualPrimListModel model = new VirtualPrimListModel();
+
+        assertEquals(2_038_074_743, model.getPrime(100_000_000));
+        assertEquals(29, model.getPrime(10));
+        assertEquals(7919, model.getPrime(1000));
+        assertEquals(15_485_863, model.getPrime(1_000_000));
+        assertEquals(179_424_673, model.getPrime(10_000_000));
+    }
+
+    @Test
+    public void testGetPrime_AcrossSegments() {
+        VirtualPrimListModel model = new VirtualPrimListModel();
+        PrimeSieve sieve = new PrimeSieve();
+
+        int i = 1;
+        for (int prime; (prime = sieve.next()) < 3 * PrimeSieve.SEGMENT_SPAN; i++) {
+            assertEquals(prime, model.getPrime(i));
+        }
+        assertEquals(sieve.next(), model.getPrime(i + 1));
+    }
+
+    @Test
+    public void testGetPrime_LastInSegment() {
+        VirtualPrimListModel model = new VirtualPrimListModel();
+        model.getPrime(10_000_000);
+
+        PrimeSieve sieve = new PrimeSieve();
+        int index = 0;
+        int previous = 0;
+        for (int segment = 1; segment <= 5; segment++) {
+            int prime;
+            while ((prime = sieve.next()) < segment * PrimeSieve.SEGMENT_SPAN) {
+                previous = prime;
+                index++;
+            }
+
+            assertEquals(previous, model.getPrime(index));
+            assertEquals(prime, model.getPrime(index + 1));
+
+            previous = prime;
+            index++;
+        }
+    }
+
+    @Test
+    public void testGetPrime_OneCachedSegment() {
+        VirtualPrimListModel model = new VirtualPrimListModel(1);
+
+        assertEquals(179_424_673, model.getPrime(10_000_000));
+        assertEquals(7919, model.getPrime(1000));
+        assertEquals(179_424_673, model.getPrime(10_000_000));
+        assertEquals(179_424_691, model.getPrime(10_000_001));
+        assertEquals(7927, model.getPrime(1001));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetPrime_Size() {
+        VirtualPrimListModel model = new VirtualPrimListModel();
+
+        model.getPrime(model.getSize());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetPrime_Negative() {
+        new VirtualPrimListModel().getPrime(-1);
+    }
+
+    // tests for: getElementAt(int): Integer
+
+    @Test
+    public void testGetElementAt() {
+        VirtualPrimListModel model = new VirtualPrimListModel();
+
+        assertEquals(VirtualPrimListModel.PRIME_COUNT + 1, model.getSize());
+        assertEquals(Integer.valueOf(1_299_709), model.getElementAt(100_000));
+    }
+
+    // tests for: VirtualPrimListModel(int)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NoCachedSegments() {
+        new VirtualPrimListModel(0);
+    }
+
+}